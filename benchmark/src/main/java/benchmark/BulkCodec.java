@@ -0,0 +1,93 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.ksuid.Ksuid;
+import com.github.f4b6a3.ksuid.KsuidCodec;
+
+// The 100M elements run needs a large heap, e.g.: -jvmArgs -Xmx32g
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 8, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkCodec {
+
+	@Param({ "1000000", "100000000" })
+	private int size;
+
+	private Ksuid[] ksuids;
+	private String[] strings;
+	private byte[] bytes;
+
+	private Ksuid[] ksuidsOutput;
+	private String[] stringsOutput;
+	private byte[] bytesOutput;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		ksuids = new Ksuid[size];
+		for (int i = 0; i < size; i++) {
+			ksuids[i] = Ksuid.fast();
+		}
+		strings = new String[size];
+		bytes = new byte[size * Ksuid.KSUID_BYTES];
+		KsuidCodec.encodeAll(ksuids, strings);
+		KsuidCodec.encodeAll(ksuids, bytes);
+
+		ksuidsOutput = new Ksuid[size];
+		stringsOutput = new String[size];
+		bytesOutput = new byte[size * Ksuid.KSUID_BYTES];
+	}
+
+	@Benchmark
+	public String[] Ksuid_toString_parallelStream() {
+		return Arrays.stream(ksuids).parallel().map(Ksuid::toString).toArray(String[]::new);
+	}
+
+	@Benchmark
+	public Ksuid[] Ksuid_from_parallelStream() {
+		return Arrays.stream(strings).parallel().map(Ksuid::from).toArray(Ksuid[]::new);
+	}
+
+	@Benchmark
+	public String[] KsuidCodec_encodeAll_strings() {
+		KsuidCodec.encodeAll(ksuids, stringsOutput);
+		return stringsOutput;
+	}
+
+	@Benchmark
+	public Ksuid[] KsuidCodec_decodeAll_strings() {
+		KsuidCodec.decodeAll(strings, ksuidsOutput);
+		return ksuidsOutput;
+	}
+
+	@Benchmark
+	public byte[] KsuidCodec_encodeAll_bytes() {
+		KsuidCodec.encodeAll(ksuids, bytesOutput);
+		return bytesOutput;
+	}
+
+	@Benchmark
+	public Ksuid[] KsuidCodec_decodeAll_bytes() {
+		KsuidCodec.decodeAll(bytes, ksuidsOutput);
+		return ksuidsOutput;
+	}
+}
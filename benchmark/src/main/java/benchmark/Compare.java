@@ -0,0 +1,77 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.ksuid.Ksuid;
+
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Compare {
+
+	private static final int SIZE = 1024;
+
+	private Ksuid[] ksuids;
+	private String[] strings;
+	private byte[][] bytes;
+
+	private int index;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		ksuids = new Ksuid[SIZE];
+		strings = new String[SIZE];
+		bytes = new byte[SIZE][];
+		for (int i = 0; i < SIZE; i++) {
+			// same second: the payload has to be compared
+			ksuids[i] = Ksuid.fast();
+			strings[i] = ksuids[i].toString();
+			bytes[i] = ksuids[i].toBytes();
+		}
+	}
+
+	private int next() {
+		return index = (index + 1) & (SIZE - 1);
+	}
+
+	@Benchmark
+	public int Ksuid_compareTo() {
+		final int i = next();
+		return ksuids[i].compareTo(ksuids[(i + 1) & (SIZE - 1)]);
+	}
+
+	@Benchmark
+	public int Ksuid_from_compareTo() {
+		final int i = next();
+		return Ksuid.from(strings[i]).compareTo(Ksuid.from(strings[(i + 1) & (SIZE - 1)]));
+	}
+
+	@Benchmark
+	public int Ksuid_compare_strings() {
+		final int i = next();
+		return Ksuid.compare(strings[i], strings[(i + 1) & (SIZE - 1)]);
+	}
+
+	@Benchmark
+	public int Ksuid_compare_bytes() {
+		final int i = next();
+		return Ksuid.compare(bytes[i], bytes[(i + 1) & (SIZE - 1)]);
+	}
+}
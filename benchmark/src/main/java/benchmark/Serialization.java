@@ -0,0 +1,71 @@
+package benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.ksuid.Ksuid;
+
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Serialization {
+
+	@Param({ "1000", "100000" })
+	private int size;
+
+	private List<Ksuid> list;
+	private byte[] serialized;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(Ksuid.fast());
+		}
+		serialized = write(list);
+	}
+
+	@Benchmark
+	public byte[] ObjectOutputStream_writeObject() throws IOException {
+		return write(list);
+	}
+
+	@Benchmark
+	public Object ObjectInputStream_readObject() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+			return stream.readObject();
+		}
+	}
+
+	private static byte[] write(List<Ksuid> list) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ObjectOutputStream stream = new ObjectOutputStream(output)) {
+			stream.writeObject(list);
+		}
+		return output.toByteArray();
+	}
+}
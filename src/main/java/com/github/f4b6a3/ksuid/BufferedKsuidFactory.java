@@ -0,0 +1,317 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A decorator that keeps a buffer of pre-generated KSUIDs.
+ * <p>
+ * A background thread fills a bounded ring buffer with KSUIDs created by the
+ * decorated {@link KsuidFactory}, so that {@link #create()} is usually just a
+ * pop from the buffer. The cost of the random generator and the clock is moved
+ * off the caller's thread.
+ * <p>
+ * KSUIDs older than the maximum age are discarded, so the time embedded in a
+ * KSUID is never older than the maximum age (plus the time precision of the
+ * KSUID). If the buffer is empty, the KSUID is created by the decorated
+ * factory on the caller's thread.
+ * <p>
+ * The KSUIDs are unique, but they are not guaranteed to be monotonic, even if
+ * the decorated factory is monotonic.
+ * <p>
+ * The background thread runs until the buffer is closed. If the decorated
+ * factory throws an exception, the thread retries with an increasing delay.
+ * If the decorated factory is so slow that a batch of KSUIDs expires before it
+ * is stored, the thread stops refilling. In both cases, the failure is
+ * available from {@link #getLastFailure()}.
+ * 
+ * <pre>{@code
+ * BufferedKsuidFactory factory = new BufferedKsuidFactory(KsuidFactory.newInstance(), 1024,
+ * 		Duration.ofMillis(100));
+ * Ksuid ksuid = factory.create();
+ * }</pre>
+ * 
+ * @since 4.2.0
+ */
+public final class BufferedKsuidFactory implements AutoCloseable {
+
+	private final KsuidFactory factory;
+
+	private final Ksuid[] ksuids;
+	private final long[] stamps; // creation nano time
+	private final long maxAge; // in nanoseconds
+	private final int lowWatermark;
+
+	private int head = 0;
+	private int count = 0;
+	private boolean closed = false;
+	private RuntimeException failure = null;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition refill = lock.newCondition();
+
+	private final Thread thread;
+
+	// the delays between retries after a failure
+	private static final long MIN_BACKOFF = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long MAX_BACKOFF = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * Creates a buffered factory.
+	 * 
+	 * @param factory  the decorated factory
+	 * @param capacity the maximum number of KSUIDs in the buffer
+	 * @param maxAge   the maximum age of a KSUID in the buffer
+	 * @throws IllegalArgumentException if the capacity or the maximum age is not
+	 *                                  positive
+	 */
+	public BufferedKsuidFactory(KsuidFactory factory, int capacity, Duration maxAge) {
+		this(factory, capacity, maxAge, runnable -> {
+			Thread thread = new Thread(runnable, "ksuid-buffer-refill");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Creates a buffered factory.
+	 * <p>
+	 * The thread factory can be used to run the refill task in a virtual thread,
+	 * e.g. {@code Thread.ofVirtual().factory()} in Java 21+.
+	 * 
+	 * @param factory       the decorated factory
+	 * @param capacity      the maximum number of KSUIDs in the buffer
+	 * @param maxAge        the maximum age of a KSUID in the buffer
+	 * @param threadFactory a factory for the refill thread
+	 * @throws IllegalArgumentException if the capacity or the maximum age is not
+	 *                                  positive
+	 */
+	public BufferedKsuidFactory(KsuidFactory factory, int capacity, Duration maxAge, ThreadFactory threadFactory) {
+
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		if (maxAge.isNegative() || maxAge.isZero()) {
+			throw new IllegalArgumentException("Invalid maximum age: " + maxAge);
+		}
+
+		this.factory = factory;
+		this.ksuids = new Ksuid[capacity];
+		this.stamps = new long[capacity];
+		this.maxAge = maxAge.toNanos();
+		this.lowWatermark = capacity / 2;
+
+		this.thread = threadFactory.newThread(this::refill);
+		this.thread.start();
+	}
+
+	/**
+	 * Returns a KSUID from the buffer.
+	 * <p>
+	 * If the buffer is empty, the KSUID is created by the decorated factory.
+	 * 
+	 * @return a KSUID
+	 */
+	public Ksuid create() {
+
+		lock.lock();
+		try {
+			purge(System.nanoTime());
+			if (count > 0) {
+				final Ksuid ksuid = ksuids[head];
+				ksuids[head] = null;
+				head = (head + 1) % ksuids.length;
+				if (--count == lowWatermark) {
+					refill.signal();
+				}
+				return ksuid;
+			}
+			refill.signal();
+		} finally {
+			lock.unlock();
+		}
+
+		return factory.create(); // buffer is empty
+	}
+
+	/**
+	 * Returns the number of KSUIDs in the buffer.
+	 * 
+	 * @return the number of KSUIDs
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			purge(System.nanoTime());
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the last failure of the refill thread.
+	 * <p>
+	 * It is either an exception thrown by the decorated factory or an
+	 * {@link IllegalStateException} if the thread stopped refilling because the
+	 * decorated factory is too slow for the maximum age.
+	 * 
+	 * @return the last failure, or null if none occurred
+	 */
+	public RuntimeException getLastFailure() {
+		lock.lock();
+		try {
+			return failure;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the refill thread and empties the buffer.
+	 * <p>
+	 * After closing, all KSUIDs are created by the decorated factory.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			while (count > 0) {
+				ksuids[head] = null;
+				head = (head + 1) % ksuids.length;
+				count--;
+			}
+			refill.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// discard the KSUIDs that are too old
+	private void purge(final long now) {
+		while (count > 0 && now - stamps[head] > maxAge) {
+			ksuids[head] = null;
+			head = (head + 1) % ksuids.length;
+			count--;
+		}
+	}
+
+	private void refill() {
+
+		final Ksuid[] batch = new Ksuid[ksuids.length];
+		final long[] batchStamps = new long[ksuids.length];
+		final long interval = Math.max(maxAge / 2, TimeUnit.MILLISECONDS.toNanos(1));
+
+		long backoff = MIN_BACKOFF;
+
+		while (true) {
+
+			final int free;
+			lock.lock();
+			try {
+				// wait for a refill signal, waking up periodically to purge old KSUIDs
+				while (!closed && count > lowWatermark) {
+					refill.awaitNanos(interval);
+					purge(System.nanoTime());
+				}
+				if (closed) {
+					return;
+				}
+				free = ksuids.length - count;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				lock.unlock();
+			}
+
+			// generate a batch outside the lock
+			int length = 0;
+			try {
+				for (; length < free; length++) {
+					batch[length] = factory.create();
+					batchStamps[length] = System.nanoTime();
+				}
+				backoff = MIN_BACKOFF;
+			} catch (RuntimeException e) {
+				// discard the partial batch and retry later
+				Arrays.fill(batch, 0, length, null);
+				if (!retry(e, backoff)) {
+					return;
+				}
+				backoff = Math.min(backoff * 2, MAX_BACKOFF);
+				continue;
+			}
+
+			lock.lock();
+			try {
+				if (length > 0 && System.nanoTime() - batchStamps[0] > maxAge) {
+					// generating again would only produce expired KSUIDs
+					failure = new IllegalStateException("The decorated factory is too slow for the maximum age");
+					return;
+				}
+				// the buffer may have been closed while the batch was generated
+				if (!closed) {
+					int tail = (head + count) % ksuids.length;
+					for (int i = 0; i < length && count < ksuids.length; i++) {
+						ksuids[tail] = batch[i];
+						stamps[tail] = batchStamps[i];
+						tail = (tail + 1) % ksuids.length;
+						count++;
+					}
+				}
+			} finally {
+				lock.unlock();
+				// don't keep the KSUIDs reachable from the batch
+				Arrays.fill(batch, 0, length, null);
+			}
+		}
+	}
+
+	// records a failure and waits before retrying; returns false if closed
+	private boolean retry(final RuntimeException e, final long backoff) {
+		lock.lock();
+		try {
+			failure = e;
+			long nanos = backoff;
+			while (!closed && nanos > 0) {
+				nanos = refill.awaitNanos(nanos);
+			}
+			return !closed;
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
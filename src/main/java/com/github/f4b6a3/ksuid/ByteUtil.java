@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+/**
+ * Utility that reads and writes big-endian numbers in byte arrays.
+ * <p>
+ * This is the Java 8 implementation. Newer JVMs load the implementation found
+ * in the versioned directory of the multi-release JAR.
+ */
+final class ByteUtil {
+
+	private ByteUtil() {
+	}
+
+	static int getInt(final byte[] bytes, final int offset) {
+		return ((bytes[offset + 0] & 0xff) << 0x18) //
+				| ((bytes[offset + 1] & 0xff) << 0x10) //
+				| ((bytes[offset + 2] & 0xff) << 0x08) //
+				| ((bytes[offset + 3] & 0xff) << 0x00);
+	}
+
+	static long getLong(final byte[] bytes, final int offset) {
+		return ((getInt(bytes, offset) & 0xffffffffL) << 32) | (getInt(bytes, offset + 4) & 0xffffffffL);
+	}
+
+	static void putInt(final byte[] bytes, final int offset, final int value) {
+		bytes[offset + 0] = (byte) (value >>> 0x18);
+		bytes[offset + 1] = (byte) (value >>> 0x10);
+		bytes[offset + 2] = (byte) (value >>> 0x08);
+		bytes[offset + 3] = (byte) (value >>> 0x00);
+	}
+
+	static void putLong(final byte[] bytes, final int offset, final long value) {
+		putInt(bytes, offset, (int) (value >>> 32));
+		putInt(bytes, offset + 4, (int) value);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock that caches the current time.
+ * <p>
+ * A background daemon thread reads the system clock once per tick and stores
+ * the current time in a volatile field. Reading the time is just a volatile
+ * read: there's no system call and no {@link Instant} allocation per call.
+ * <p>
+ * The precision of the clock is one millisecond, so Subsecond KSUIDs created
+ * with it have millisecond precision.
+ * <p>
+ * The trade-off is that the time returned can be up to one tick old. It is
+ * well suited for generating Segment's and Monotonic KSUIDs, whose time
+ * precision is one second, at very high rates.
+ * <p>
+ * The background thread runs until the clock is closed.
+ * 
+ * <pre>{@code
+ * CoarseClock clock = new CoarseClock();
+ * KsuidFactory factory = KsuidFactory.newMonotonicInstance(clock);
+ * }</pre>
+ * 
+ * @since 4.2.0
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+	private final Ticker ticker;
+	private final ZoneId zone;
+
+	/**
+	 * Default tick of 1 millisecond.
+	 */
+	public static final Duration DEFAULT_TICK = Duration.ofMillis(1);
+
+	/**
+	 * Creates a clock that ticks every millisecond.
+	 */
+	public CoarseClock() {
+		this(DEFAULT_TICK);
+	}
+
+	/**
+	 * Creates a clock with a custom tick.
+	 * 
+	 * @param tick the interval between clock reads
+	 * @throws IllegalArgumentException if the tick is less than 1 millisecond
+	 */
+	public CoarseClock(Duration tick) {
+		this(new Ticker(Clock.systemUTC(), tick), ZoneOffset.UTC);
+	}
+
+	private CoarseClock(Ticker ticker, ZoneId zone) {
+		this.ticker = ticker;
+		this.zone = zone;
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return zone;
+	}
+
+	/**
+	 * Returns a copy of this clock with a different time-zone.
+	 * <p>
+	 * The copy shares the background thread with this clock.
+	 */
+	@Override
+	public Clock withZone(ZoneId zone) {
+		if (this.zone.equals(zone)) {
+			return this;
+		}
+		return new CoarseClock(ticker, zone);
+	}
+
+	@Override
+	public long millis() {
+		return ticker.instant.toEpochMilli();
+	}
+
+	@Override
+	public Instant instant() {
+		return ticker.instant;
+	}
+
+	/**
+	 * Stops the background thread.
+	 * <p>
+	 * After closing, the clock keeps returning the last time read.
+	 */
+	@Override
+	public void close() {
+		ticker.executor.shutdownNow();
+	}
+
+	private static final class Ticker implements Runnable {
+
+		private final Clock source;
+		private final ScheduledExecutorService executor;
+
+		// a single field, so that millis and instant always agree
+		private volatile Instant instant;
+
+		Ticker(Clock source, Duration tick) {
+
+			final long period = tick.toMillis();
+			if (period < 1) {
+				throw new IllegalArgumentException("Invalid tick: " + tick);
+			}
+
+			this.source = source;
+			run(); // initialize the time
+
+			this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "ksuid-coarse-clock");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.executor.scheduleAtFixedRate(this, period, period, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public void run() {
+			// the instant has the same precision as the millis
+			this.instant = Instant.ofEpochMilli(source.millis());
+		}
+	}
+}
@@ -24,8 +24,15 @@
 
 package com.github.f4b6a3.ksuid;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.Instant;
 import java.util.SplittableRandom;
 
@@ -77,6 +84,9 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	static final char[] BASE62_ALPHABET;
 	static final int[] BASE62_MAP;
 
+	static final int BASE62_CHUNK = 5; // digits per chunk
+	static final long BASE62_CHUNK_RADIX = 916_132_832L; // 62^5
+
 	static {
 
 		BASE62_ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
@@ -95,6 +105,15 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	static final int KSUID_INTS = KSUID_BYTES / Integer.BYTES;
 	static final long INTEGER_MASK = 0x00000000ffffffffL;
 
+	// number of leading digits used to decode the time
+	private static final int TIME_DIGITS = 9;
+
+	// 62^18 in 32-bit limbs, from the least significant
+	private static final long POW62_18_LIMB0 = 0x87040000L;
+	private static final long POW62_18_LIMB1 = 0x757b36a9L;
+	private static final long POW62_18_LIMB2 = 0xf972b286L;
+	private static final long POW62_18_LIMB3 = 0x00000908L;
+
 	/**
 	 * Creates a new KSUID.
 	 * <p>
@@ -138,23 +157,23 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 		System.arraycopy(payload, 0, this.payload, 0, PAYLOAD_BYTES);
 	}
 
+	private Ksuid(final int seconds, final byte[] payload) {
+		this.seconds = seconds;
+		this.payload = payload;
+	}
+
 	Ksuid(byte[] bytes) {
+		this(validate(bytes), 0);
+	}
 
-		if (bytes == null || bytes.length != KSUID_BYTES) {
-			throw new IllegalArgumentException("Invalid byte array length or null"); // null or wrong length!
-		}
+	Ksuid(byte[] bytes, int offset) {
 
 		// copy the seconds
-		int secondz = 0;
-		secondz |= (bytes[0x00] & 0xff) << 0x18;
-		secondz |= (bytes[0x01] & 0xff) << 0x10;
-		secondz |= (bytes[0x02] & 0xff) << 0x08;
-		secondz |= (bytes[0x03] & 0xff) << 0x00;
-		this.seconds = secondz;
+		this.seconds = ByteUtil.getInt(bytes, offset);
 
 		// copy the payload
 		this.payload = new byte[PAYLOAD_BYTES];
-		System.arraycopy(bytes, TIME_BYTES, this.payload, 0, PAYLOAD_BYTES);
+		System.arraycopy(bytes, offset + TIME_BYTES, this.payload, 0, PAYLOAD_BYTES);
 	}
 
 	Ksuid(final int[] ints) {
@@ -169,13 +188,39 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 		// copy the payload
 		this.payload = new byte[PAYLOAD_BYTES];
 		for (int i = 1, j = 0; i < ints.length; i++, j += 4) {
-			this.payload[j + 0] = (byte) ((ints[i] >>> 0x18) & 0xff);
-			this.payload[j + 1] = (byte) ((ints[i] >>> 0x10) & 0xff);
-			this.payload[j + 2] = (byte) ((ints[i] >>> 0x08) & 0xff);
-			this.payload[j + 3] = (byte) ((ints[i] >>> 0x00) & 0xff);
+			ByteUtil.putInt(this.payload, j, ints[i]);
 		}
 	}
 
+	/**
+	 * Creates a KSUID that takes ownership of the payload array.
+	 * <p>
+	 * It avoids a copy when the payload has just been created. The array must
+	 * not be modified after the call.
+	 * 
+	 * @param seconds the number of seconds since 1970-01-01
+	 * @param payload an array of 16 bytes
+	 * @return a KSUID
+	 */
+	static Ksuid wrap(final long seconds, final byte[] payload) {
+		return new Ksuid((int) toKsuidTime(seconds), payload);
+	}
+
+	/**
+	 * Creates a KSUID from the payload words.
+	 * 
+	 * @param seconds the number of seconds since 1970-01-01
+	 * @param msb     the 8 most significant bytes of the payload
+	 * @param lsb     the 8 least significant bytes of the payload
+	 * @return a KSUID
+	 */
+	static Ksuid of(final long seconds, final long msb, final long lsb) {
+		final byte[] payload = new byte[PAYLOAD_BYTES];
+		ByteUtil.putLong(payload, 0, msb);
+		ByteUtil.putLong(payload, 8, lsb);
+		return wrap(seconds, payload);
+	}
+
 	/**
 	 * Returns a fast new KSUID.
 	 * <p>
@@ -196,10 +241,10 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 		final SplittableRandom random = new SplittableRandom();
 		final ByteBuffer buffer = ByteBuffer.allocate(Ksuid.PAYLOAD_BYTES);
 
-		final long seconds = Instant.now().getEpochSecond();
+		final long seconds = System.currentTimeMillis() / 1000;
 		final byte[] payload = buffer.putLong(random.nextLong()).putLong(random.nextLong()).array();
 
-		return new Ksuid(seconds, payload);
+		return wrap(seconds, payload);
 	}
 
 	/**
@@ -235,19 +280,18 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 * @return a byte array.
 	 */
 	public byte[] toBytes() {
-
 		byte[] bytes = new byte[KSUID_BYTES];
+		toBytes(bytes, 0);
+		return bytes;
+	}
+
+	void toBytes(byte[] bytes, int offset) {
 
 		// copy the seconds
-		bytes[0] = (byte) ((this.seconds >>> 0x18) & 0xff);
-		bytes[1] = (byte) ((this.seconds >>> 0x10) & 0xff);
-		bytes[2] = (byte) ((this.seconds >>> 0x08) & 0xff);
-		bytes[3] = (byte) ((this.seconds >>> 0x00) & 0xff);
+		ByteUtil.putInt(bytes, offset, this.seconds);
 
 		// copy the payload
-		System.arraycopy(this.payload, 0, bytes, TIME_BYTES, PAYLOAD_BYTES);
-
-		return bytes;
+		System.arraycopy(this.payload, 0, bytes, offset + TIME_BYTES, PAYLOAD_BYTES);
 	}
 
 	/**
@@ -306,13 +350,16 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 * <p>
 	 * The number returned is equivalent to the number of seconds since 1970-01-01
 	 * (Unix epoch).
+	 * <p>
+	 * Only the time is decoded. The payload is ignored.
 	 * 
 	 * @param string a canonical string
 	 * @return a number of seconds
 	 * @throws IllegalArgumentException if the input string is invalid
 	 */
 	public static long getTime(String string) {
-		return from(string).getTime();
+		validate(string);
+		return toUnixTime(decodeTime(string));
 	}
 
 	/**
@@ -328,6 +375,24 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 		return copy;
 	}
 
+	/**
+	 * Return the most significant 64 bits of the payload.
+	 * 
+	 * @return a number
+	 */
+	long getMostSignificantBits() {
+		return ByteUtil.getLong(this.payload, 0);
+	}
+
+	/**
+	 * Return the least significant 64 bits of the payload.
+	 * 
+	 * @return a number
+	 */
+	long getLeastSignificantBits() {
+		return ByteUtil.getLong(this.payload, 8);
+	}
+
 	/**
 	 * Return the payload.
 	 * <p>
@@ -352,7 +417,7 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 *      history of the UUID</a>
 	 */
 	public static boolean isValid(String string) {
-		return string != null && isValid(string.toCharArray());
+		return isValid((CharSequence) string);
 	}
 
 	/**
@@ -385,16 +450,9 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 			return false;
 
 		Ksuid that = (Ksuid) other;
-		if (this.seconds != that.seconds)
-			return false;
-
-		for (int i = 0; i < PAYLOAD_BYTES; i++) {
-			if (this.payload[i] != that.payload[i]) {
-				return false;
-			}
-		}
-
-		return true;
+		return this.seconds == that.seconds //
+				&& ByteUtil.getLong(this.payload, 0) == ByteUtil.getLong(that.payload, 0) //
+				&& ByteUtil.getLong(this.payload, 8) == ByteUtil.getLong(that.payload, 8);
 	}
 
 	/**
@@ -421,12 +479,137 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 		else if (a < b)
 			return -1;
 
-		// UNSIGNED comparison of payload bytes
-		for (int i = 0; i < PAYLOAD_BYTES; i++) {
-			if ((this.payload[i] & 0xff) > (that.payload[i] & 0xff)) {
-				return 1;
-			} else if ((this.payload[i] & 0xff) < (that.payload[i] & 0xff)) {
-				return -1;
+		// UNSIGNED comparison of payload words
+		for (int i = 0; i < PAYLOAD_BYTES; i += Long.BYTES) {
+			final int c = Long.compareUnsigned(ByteUtil.getLong(this.payload, i), ByteUtil.getLong(that.payload, i));
+			if (c != 0) {
+				return c > 0 ? 1 : -1;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Compares two KSUIDs in binary format as unsigned 160-bit integers.
+	 * <p>
+	 * The result is the same as {@link #compareTo(Ksuid)}, but no KSUID is
+	 * created. It is useful for stores that keep KSUIDs as 20-byte keys.
+	 * 
+	 * @param a an array containing a KSUID in binary format
+	 * @param b another array containing a KSUID in binary format
+	 * @return -1, 0 or 1 as {@code a} is less than, equal to, or greater than
+	 *         {@code b}
+	 * @throws IndexOutOfBoundsException if an array has less than 20 bytes
+	 * @since 4.2.0
+	 */
+	public static int compare(final byte[] a, final byte[] b) {
+		return compare(a, 0, b, 0);
+	}
+
+	/**
+	 * Compares two KSUIDs in binary format as unsigned 160-bit integers.
+	 * <p>
+	 * The result is the same as {@link #compareTo(Ksuid)}, but no KSUID is
+	 * created. It is useful for stores that keep KSUIDs as 20-byte keys.
+	 * 
+	 * @param a       an array containing a KSUID in binary format
+	 * @param aOffset the position of the KSUID in the first array
+	 * @param b       another array containing a KSUID in binary format
+	 * @param bOffset the position of the KSUID in the second array
+	 * @return -1, 0 or 1 as {@code a} is less than, equal to, or greater than
+	 *         {@code b}
+	 * @throws IndexOutOfBoundsException if the 20 bytes are out of an array
+	 * @since 4.2.0
+	 */
+	public static int compare(final byte[] a, final int aOffset, final byte[] b, final int bOffset) {
+
+		if (aOffset < 0 || aOffset > a.length - KSUID_BYTES || bOffset < 0 || bOffset > b.length - KSUID_BYTES) {
+			throw new IndexOutOfBoundsException("Invalid offset");
+		}
+
+		int c = Integer.compareUnsigned(ByteUtil.getInt(a, aOffset), ByteUtil.getInt(b, bOffset));
+		if (c == 0) {
+			c = Long.compareUnsigned(ByteUtil.getLong(a, aOffset + 4), ByteUtil.getLong(b, bOffset + 4));
+			if (c == 0) {
+				c = Long.compareUnsigned(ByteUtil.getLong(a, aOffset + 12), ByteUtil.getLong(b, bOffset + 12));
+			}
+		}
+
+		return Integer.signum(c);
+	}
+
+	/**
+	 * Compares two KSUIDs in binary format as unsigned 160-bit integers.
+	 * <p>
+	 * The KSUIDs are read from the current position of the buffers, which is
+	 * not changed. The byte order of the buffers is ignored: KSUIDs are always
+	 * big-endian.
+	 * <p>
+	 * The result is the same as {@link #compareTo(Ksuid)}, but no KSUID is
+	 * created. It is useful for stores that keep KSUIDs as 20-byte keys.
+	 * 
+	 * @param a a buffer containing a KSUID in binary format
+	 * @param b another buffer containing a KSUID in binary format
+	 * @return -1, 0 or 1 as {@code a} is less than, equal to, or greater than
+	 *         {@code b}
+	 * @throws IndexOutOfBoundsException if a buffer has less than 20 bytes
+	 *                                   remaining
+	 * @since 4.2.0
+	 */
+	public static int compare(final ByteBuffer a, final ByteBuffer b) {
+
+		if (a.remaining() < KSUID_BYTES || b.remaining() < KSUID_BYTES) {
+			throw new IndexOutOfBoundsException("Invalid buffer remaining");
+		}
+
+		final int i = a.position();
+		final int j = b.position();
+		final boolean aBigEndian = a.order() == ByteOrder.BIG_ENDIAN;
+		final boolean bBigEndian = b.order() == ByteOrder.BIG_ENDIAN;
+
+		final int a0 = aBigEndian ? a.getInt(i) : Integer.reverseBytes(a.getInt(i));
+		final int b0 = bBigEndian ? b.getInt(j) : Integer.reverseBytes(b.getInt(j));
+		int c = Integer.compareUnsigned(a0, b0);
+
+		for (int k = TIME_BYTES; c == 0 && k < KSUID_BYTES; k += Long.BYTES) {
+			final long a1 = aBigEndian ? a.getLong(i + k) : Long.reverseBytes(a.getLong(i + k));
+			final long b1 = bBigEndian ? b.getLong(j + k) : Long.reverseBytes(b.getLong(j + k));
+			c = Long.compareUnsigned(a1, b1);
+		}
+
+		return Integer.signum(c);
+	}
+
+	/**
+	 * Compares two KSUIDs in canonical string format.
+	 * <p>
+	 * The canonical strings have a fixed width and the alphabet "0-9A-Za-z" is
+	 * in ASCII order, so the ordinal comparison of two strings is the same as the
+	 * numerical comparison of the KSUIDs. The result is the same as
+	 * {@link #compareTo(Ksuid)}, but the strings are not decoded.
+	 * 
+	 * @param a a canonical string
+	 * @param b another canonical string
+	 * @return -1, 0 or 1 as {@code a} is less than, equal to, or greater than
+	 *         {@code b}
+	 * @throws IllegalArgumentException if a string is invalid
+	 * @since 4.2.0
+	 */
+	public static int compare(final CharSequence a, final CharSequence b) {
+
+		validate(a);
+		validate(b);
+
+		if (a instanceof String && b instanceof String) {
+			// intrinsic in most JVMs
+			return Integer.signum(((String) a).compareTo((String) b));
+		}
+
+		for (int i = 0; i < KSUID_CHARS; i++) {
+			final int c = a.charAt(i) - b.charAt(i);
+			if (c != 0) {
+				return c > 0 ? 1 : -1;
 			}
 		}
 
@@ -442,29 +625,46 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 * @return a KSUID
 	 */
 	public Ksuid increment() {
+		return increment(1);
+	}
 
-		// 0xff + 1 = 0x00
-		final byte overflow = 0x00;
-
-		// copy the current KSUID
-		Ksuid ksuid = new Ksuid(this);
-
-		// increment payload bytes from right to left
-		for (int i = PAYLOAD_BYTES - 1; i >= 0; i--) {
-			if (++ksuid.payload[i] != overflow) {
-				break; // stop if did't overflow
-			} else {
-				if (i == 0) {
-					// If the payload component overflows,
-					// increment the time component by 1.
-					// This event is quite rare to occur.
-					final long time = ksuid.getTime() + 1;
-					ksuid = new Ksuid(time, ksuid.getPayload());
-				}
-			}
+	/**
+	 * Returns a new KSUID by adding a number to the payload of the current KSUID.
+	 * <p>
+	 * It is equivalent to calling {@link #increment()} many times, and is useful
+	 * to reserve a block of KSUIDs at once.
+	 * <p>
+	 * When an overflow occurs in the payload 128 bits, the time is simply
+	 * incremented to <b>maintain monotonicity</b>.
+	 * 
+	 * @param delta a non-negative number
+	 * @return a KSUID
+	 * @throws IllegalArgumentException if the delta is negative
+	 * @since 4.2.0
+	 */
+	public Ksuid increment(final long delta) {
+
+		if (delta < 0) {
+			throw new IllegalArgumentException("Invalid delta: " + delta);
 		}
 
-		return ksuid; // incremented copy
+		final long msb = ByteUtil.getLong(this.payload, 0);
+		final long lsb = ByteUtil.getLong(this.payload, 8);
+
+		// 128-bit addition
+		final long lsb1 = lsb + delta;
+		final long msb1 = Long.compareUnsigned(lsb1, lsb) < 0 ? msb + 1 : msb;
+
+		// If the payload component overflows,
+		// increment the time component by 1.
+		// This event is quite rare to occur.
+		final int seconds1 = (msb1 == 0 && msb != 0) ? this.seconds + 1 : this.seconds;
+
+		final byte[] bytes = new byte[PAYLOAD_BYTES];
+		ByteUtil.putLong(bytes, 0, msb1);
+		ByteUtil.putLong(bytes, 8, lsb1);
+
+		return new Ksuid(seconds1, bytes);
 	}
 
 	/**
@@ -498,25 +698,43 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 * @return a string
 	 */
 	static String toBase62(final Ksuid ksuid) {
+		final char[] chars = new char[KSUID_CHARS];
+		encode(ksuid.toInts(), chars);
+		return new String(chars);
+	}
 
-		int[] number = ksuid.toInts();
+	/**
+	 * Encode an array of integers into base-62 chars.
+	 * <p>
+	 * The number is divided in place by 62^5 only 6 times, instead of being
+	 * divided by 62 for each one of the 27 digits. The input array is used as
+	 * scratch space, so its content is lost.
+	 * 
+	 * @param number an array of 5 integers (overwritten)
+	 * @param chars  an array of 27 chars (encode output)
+	 */
+	static void encode(final int[] number, final char[] chars) {
 
 		int b = KSUID_CHARS; // buffer index
-		char[] buffer = new char[KSUID_CHARS];
 
-		while (!isZero(number)) {
-			final int[] quotient = new int[KSUID_INTS]; // division output
-			final int remainder = remainder(number, BASE62_RADIX, quotient);
-			buffer[--b] = BASE62_ALPHABET[remainder];
-			number = quotient;
-		}
-
-		// add padding left
-		while (b > 0) {
-			buffer[--b] = '0';
+		// the last 5 chunks have 5 digits: 27 = 2 + (5 * 5)
+		while (b > BASE62_CHUNK) {
+			long remainder = 0;
+			for (int i = 0; i < KSUID_INTS; i++) {
+				final long temporary = (remainder << 32) | (number[i] & INTEGER_MASK);
+				number[i] = (int) (temporary / BASE62_CHUNK_RADIX);
+				remainder = temporary % BASE62_CHUNK_RADIX;
+			}
+			for (int i = 0; i < BASE62_CHUNK; i++) {
+				chars[--b] = BASE62_ALPHABET[(int) (remainder % BASE62_RADIX)];
+				remainder = remainder / BASE62_RADIX;
+			}
 		}
 
-		return new String(buffer);
+		// the first chunk has only 2 digits: 62^2 > 2^160 / 62^25
+		final int remainder = number[KSUID_INTS - 1];
+		chars[--b] = BASE62_ALPHABET[remainder % BASE62_RADIX];
+		chars[--b] = BASE62_ALPHABET[remainder / BASE62_RADIX];
 	}
 
 	/**
@@ -527,18 +745,121 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 */
 	static Ksuid fromBase62(final String string) {
 
-		int[] number = new int[KSUID_INTS];
-		char[] chars = toCharArray(string);
+		validate(string);
 
-		for (int i = 0; i < chars.length; i++) {
-			final int remainder = BASE62_MAP[chars[i]];
-			final int[] product = multiply(number, BASE62_RADIX, remainder, true);
-			number = product;
-		}
+		final int[] number = new int[KSUID_INTS];
+		decode(string, number);
 
 		return new Ksuid(number);
 	}
 
+	/**
+	 * Decode the time of a base-62 string.
+	 * <p>
+	 * The time is the integer part of V / 2^128, where V is the 160-bit number.
+	 * The first 9 digits are enough to find it: V = A * 62^18 + R, where A is the
+	 * value of the first 9 digits and R &lt; 62^18 &lt; 2^108 is the value of the
+	 * remaining digits. If the fractional part of A * 62^18 / 2^128 is less than
+	 * 1 - 2^-20, adding R / 2^128 &lt; 2^-20 can't carry into the time. Otherwise
+	 * the whole string is decoded, which happens once in about a million.
+	 * 
+	 * @param string a valid string
+	 * @return the KSUID time
+	 */
+	static long decodeTime(final CharSequence string) {
+
+		// the value of the first 9 digits: less than 62^9 < 2^54
+		long a = 0;
+		for (int i = 0; i < TIME_DIGITS; i++) {
+			a = (a * BASE62_RADIX) + BASE62_MAP[string.charAt(i)];
+		}
+
+		final long a0 = a & INTEGER_MASK;
+		final long a1 = a >>> 32;
+
+		// multiply by 62^18 using 32-bit limbs: p5, p4, p3...
+		long x;
+		long carry;
+		long p1, p2, p3, p4, p5;
+
+		x = a0 * POW62_18_LIMB0;
+		carry = x >>> 32;
+		x = a0 * POW62_18_LIMB1 + carry;
+		p1 = x & INTEGER_MASK;
+		carry = x >>> 32;
+		x = a0 * POW62_18_LIMB2 + carry;
+		p2 = x & INTEGER_MASK;
+		carry = x >>> 32;
+		x = a0 * POW62_18_LIMB3 + carry;
+		p3 = x & INTEGER_MASK;
+		p4 = x >>> 32;
+
+		x = a1 * POW62_18_LIMB0 + p1;
+		carry = x >>> 32;
+		x = a1 * POW62_18_LIMB1 + p2 + carry;
+		carry = x >>> 32;
+		x = a1 * POW62_18_LIMB2 + p3 + carry;
+		p3 = x & INTEGER_MASK;
+		carry = x >>> 32;
+		x = a1 * POW62_18_LIMB3 + p4 + carry;
+		p4 = x & INTEGER_MASK;
+		p5 = x >>> 32;
+
+		if (p5 != 0) {
+			throw new IllegalArgumentException("Invalid KSUID (overflow)");
+		}
+
+		if (p3 >= 0xfffff000L) {
+			// the remaining digits may carry into the time
+			final int[] number = new int[KSUID_INTS];
+			decode(string, number);
+			return number[0] & INTEGER_MASK;
+		}
+
+		return p4;
+	}
+
+	/**
+	 * Decode a valid base-62 string into an array of integers.
+	 * <p>
+	 * The digits are consumed in chunks of 5, so that the number is multiplied by
+	 * 62^5 only 6 times, instead of being multiplied by 62 for each one of the 27
+	 * digits. The product is accumulated in place.
+	 * 
+	 * @param string a valid string
+	 * @param number an array of 5 integers (decode output)
+	 */
+	static void decode(final CharSequence string, final int[] number) {
+
+		// the first chunk has only 2 digits: 27 = 2 + (5 * 5)
+		long chunk = (BASE62_MAP[string.charAt(0)] * BASE62_RADIX) + BASE62_MAP[string.charAt(1)];
+		number[0] = 0;
+		number[1] = 0;
+		number[2] = 0;
+		number[3] = 0;
+		number[4] = (int) chunk;
+
+		for (int i = 2; i < KSUID_CHARS; i += BASE62_CHUNK) {
+
+			chunk = BASE62_MAP[string.charAt(i)];
+			chunk = (chunk * BASE62_RADIX) + BASE62_MAP[string.charAt(i + 1)];
+			chunk = (chunk * BASE62_RADIX) + BASE62_MAP[string.charAt(i + 2)];
+			chunk = (chunk * BASE62_RADIX) + BASE62_MAP[string.charAt(i + 3)];
+			chunk = (chunk * BASE62_RADIX) + BASE62_MAP[string.charAt(i + 4)];
+
+			long overflow = chunk;
+			for (int j = KSUID_INTS - 1; j >= 0; j--) {
+				overflow = ((number[j] & INTEGER_MASK) * BASE62_CHUNK_RADIX) + overflow;
+				number[j] = (int) overflow;
+				overflow = overflow >>> 32;
+			}
+
+			if (overflow != 0) {
+				throw new IllegalArgumentException("Invalid KSUID (overflow)");
+			}
+		}
+	}
+
 	static int remainder(int[] number, int divisor, int[] quotient /* division output */) {
 
 		long temporary = 0;
@@ -574,45 +895,124 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 
 	int[] toInts() {
 		int[] ints = new int[KSUID_INTS];
+		toInts(ints);
+		return ints;
+	}
+
+	void toInts(final int[] ints) {
 
 		// copy the seconds
 		ints[0] = this.seconds;
 
 		// copy the payload
 		for (int i = 1, j = 0; i < ints.length; i++, j += 4) {
-			ints[i] |= (this.payload[j + 0] & 0xff) << 0x18;
-			ints[i] |= (this.payload[j + 1] & 0xff) << 0x10;
-			ints[i] |= (this.payload[j + 2] & 0xff) << 0x08;
-			ints[i] |= (this.payload[j + 3] & 0xff) << 0x00;
+			ints[i] = ByteUtil.getInt(this.payload, j);
 		}
-
-		return ints;
 	}
 
-	private static boolean isZero(int[] number) {
-		return number[0] == 0 && number[1] == 0 && number[2] == 0 && number[3] == 0 && number[4] == 0;
+	private static byte[] validate(final byte[] bytes) {
+		if (bytes == null || bytes.length != KSUID_BYTES) {
+			throw new IllegalArgumentException("Invalid byte array length or null"); // null or wrong length!
+		}
+		return bytes;
 	}
 
-	private static char[] toCharArray(String string) {
+	static void validate(final CharSequence string) {
 		if (string == null) {
 			throw new IllegalArgumentException("Invalid KSUID: null");
 		}
-		char[] chars = string.toCharArray();
-		if (!isValid(chars)) {
+		if (!isValid(string)) {
 			throw new IllegalArgumentException(String.format("Invalid KSUID: \"%s\"", string));
 		}
-		return chars;
 	}
 
-	private static boolean isValid(final char[] chars) {
-		if (chars == null || chars.length != KSUID_CHARS) {
+	private static boolean isValid(final CharSequence chars) {
+		if (chars == null || chars.length() != KSUID_CHARS) {
 			return false; // null or wrong size!
 		}
-		for (int i = 0; i < chars.length; i++) {
-			if (BASE62_MAP[chars[i]] == -1) {
-				return false; // invalid character!
-			}
+		// Branchless check: invalid chars are mapped to -1 (all bits set)
+		// and non-ASCII chars have bits above the 7th bit set.
+		int bits = 0;
+		for (int i = 0; i < KSUID_CHARS; i++) {
+			final char c = chars.charAt(i);
+			bits |= c | BASE62_MAP[c & 0x7f];
+		}
+		return (bits & ~0x7f) == 0; // It seems to be OK.
+	}
+
+	/**
+	 * Replaces the KSUID with a compact proxy that writes 20 bytes.
+	 * 
+	 * @return a serialization proxy
+	 */
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	/**
+	 * Reads the default serialized form, written by previous versions.
+	 */
+	private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		if (this.payload == null || this.payload.length != PAYLOAD_BYTES) {
+			throw new InvalidObjectException("Invalid KSUID payload");
+		}
+	}
+
+	/**
+	 * Replaces a KSUID of the default serialized form with a copy.
+	 * <p>
+	 * The stream may keep a reference to the payload array, so it is copied.
+	 */
+	private Object readResolve() {
+		return new Ksuid(this.seconds, this.payload.clone());
+	}
+
+	/**
+	 * The serialized form of KSUIDs.
+	 * <p>
+	 * It writes the 20 bytes of the KSUID as an int and two longs, with no
+	 * array object.
+	 */
+	private static final class SerializationProxy implements Externalizable {
+
+		private static final long serialVersionUID = -4185478291524618934L;
+
+		private int seconds;
+		private long msb;
+		private long lsb;
+
+		/**
+		 * Constructor for deserialization.
+		 */
+		public SerializationProxy() {
+		}
+
+		private SerializationProxy(final Ksuid ksuid) {
+			this.seconds = ksuid.seconds;
+			this.msb = ksuid.getMostSignificantBits();
+			this.lsb = ksuid.getLeastSignificantBits();
+		}
+
+		@Override
+		public void writeExternal(final ObjectOutput out) throws IOException {
+			out.writeInt(this.seconds);
+			out.writeLong(this.msb);
+			out.writeLong(this.lsb);
+		}
+
+		@Override
+		public void readExternal(final ObjectInput in) throws IOException {
+			this.seconds = in.readInt();
+			this.msb = in.readLong();
+			this.lsb = in.readLong();
+		}
+
+		private Object readResolve() {
+			final byte[] payload = new byte[PAYLOAD_BYTES];
+			ByteUtil.putLong(payload, 0, this.msb);
+			ByteUtil.putLong(payload, 8, this.lsb);
+			return new Ksuid(this.seconds, payload);
 		}
-		return true; // It seems to be OK.
 	}
 }
@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A Bloom filter of KSUIDs.
+ * <p>
+ * It answers if a KSUID might have been added, with a configurable false
+ * positive rate and no false negatives.
+ * <p>
+ * The probes are derived from the payload words, without hashing the bytes of
+ * the KSUID: the start and the step of a double hashing sequence are the
+ * payload words, each mixed by the SplitMix64 finalizer. The mixing costs a few
+ * multiplications, and it is needed because the payloads of Monotonic KSUIDs
+ * are consecutive.
+ * <p>
+ * The filter can be written to and read from byte arrays and buffers, which
+ * can be memory mapped files. The format is a magic number, the number of
+ * probes, the number of 64-bit words and the words, all big-endian.
+ * <p>
+ * Adding is <b>not</b> thread safe. Lookups are thread safe if there are no
+ * concurrent additions.
+ * 
+ * @see <a href="https://www.eecs.harvard.edu/~michaelm/postscripts/rsa2008.pdf">Less
+ *      Hashing, Same Performance: Building a Better Bloom Filter</a>
+ * @since 4.2.0
+ */
+public final class KsuidBloomFilter {
+
+	private static final int MAGIC = 0x4b534246; // "KSBF"
+	private static final int HEADER_BYTES = 12;
+
+	private static final int MAX_PROBES = 30;
+	private static final long MAX_BITS = 1L << 36;
+
+	private final long[] words;
+	private final long mask; // number of bits minus one
+	private final int probes;
+
+	private KsuidBloomFilter(long[] words, int probes) {
+		this.words = words;
+		this.mask = ((long) words.length << 6) - 1;
+		this.probes = probes;
+	}
+
+	/**
+	 * Returns a new Bloom filter sized for an expected number of KSUIDs.
+	 * <p>
+	 * The number of bits is rounded up to a power of two, so the actual false
+	 * positive rate is usually lower than requested.
+	 * 
+	 * @param expected the expected number of KSUIDs, greater than zero
+	 * @param fpp      the false positive probability, between zero and one
+	 * @return {@link KsuidBloomFilter}
+	 * @throws IllegalArgumentException if an argument is invalid or if the
+	 *                                  filter would be too large
+	 */
+	public static KsuidBloomFilter newInstance(long expected, double fpp) {
+
+		if (expected < 1) {
+			throw new IllegalArgumentException("Invalid expected number of KSUIDs: " + expected);
+		}
+		if (!(fpp > 0 && fpp < 1)) {
+			throw new IllegalArgumentException("Invalid false positive probability: " + fpp);
+		}
+
+		// m = -n * ln(p) / ln(2)^2
+		final double optimal = -expected * Math.log(fpp) / (Math.log(2) * Math.log(2));
+		if (optimal > MAX_BITS) {
+			throw new IllegalArgumentException("Filter too large: " + (long) optimal + " bits");
+		}
+
+		long bits = Long.SIZE;
+		while (bits < optimal) {
+			bits <<= 1;
+		}
+
+		// k = m / n * ln(2)
+		final long k = Math.round((double) bits / expected * Math.log(2));
+		final int probes = (int) Math.max(1, Math.min(MAX_PROBES, k));
+
+		return new KsuidBloomFilter(new long[(int) (bits >>> 6)], probes);
+	}
+
+	/**
+	 * Adds a KSUID.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return true if the filter changed, i.e., the KSUID was certainly not
+	 *         added before
+	 */
+	public boolean add(final Ksuid ksuid) {
+		final long start = start(ksuid);
+		final long step = step(ksuid, start);
+		boolean changed = false;
+		long probe = start;
+		for (int i = 0; i < probes; i++) {
+			final long bit = probe & mask;
+			final int index = (int) (bit >>> 6);
+			final long word = words[index];
+			final long updated = word | (1L << bit);
+			if (word != updated) {
+				words[index] = updated;
+				changed = true;
+			}
+			probe += step;
+		}
+		return changed;
+	}
+
+	/**
+	 * Checks if a KSUID might have been added.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return false if the KSUID was certainly not added, true if it probably
+	 *         was
+	 */
+	public boolean mightContain(final Ksuid ksuid) {
+		final long start = start(ksuid);
+		final long step = step(ksuid, start);
+		long probe = start;
+		for (int i = 0; i < probes; i++) {
+			final long bit = probe & mask;
+			if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+			probe += step;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of bits of the filter.
+	 * 
+	 * @return the number of bits
+	 */
+	public long getBitCount() {
+		return mask + 1;
+	}
+
+	/**
+	 * Returns the number of probes per KSUID.
+	 * 
+	 * @return the number of probes
+	 */
+	public int getProbeCount() {
+		return probes;
+	}
+
+	/**
+	 * Returns the number of bytes written by {@link #toBytes()}.
+	 * 
+	 * @return a number of bytes
+	 */
+	public long getSerializedSize() {
+		return HEADER_BYTES + (long) words.length * Long.BYTES;
+	}
+
+	/**
+	 * Convert the filter into a byte array.
+	 * 
+	 * @return a byte array
+	 * @throws IllegalStateException if the filter is too large for an array
+	 */
+	public byte[] toBytes() {
+		final long size = getSerializedSize();
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Filter too large for a byte array: " + size + " bytes");
+		}
+		final byte[] bytes = new byte[(int) size];
+		writeTo(ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+	/**
+	 * Writes the filter into a buffer, starting at its current position.
+	 * 
+	 * @param buffer a buffer, for example, a memory mapped file
+	 * @throws java.nio.BufferOverflowException if the buffer is too small
+	 */
+	public void writeTo(final ByteBuffer buffer) {
+		final ByteBuffer output = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		output.putInt(MAGIC);
+		output.putInt(probes);
+		output.putInt(words.length);
+		output.asLongBuffer().put(words);
+		buffer.position(buffer.position() + (int) getSerializedSize());
+	}
+
+	/**
+	 * Returns a filter from a byte array.
+	 * 
+	 * @param bytes a byte array written by {@link #toBytes()}
+	 * @return {@link KsuidBloomFilter}
+	 * @throws IllegalArgumentException if the byte array is invalid
+	 */
+	public static KsuidBloomFilter fromBytes(byte[] bytes) {
+		if (bytes == null) {
+			throw new IllegalArgumentException("Invalid byte array: null");
+		}
+		return readFrom(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Reads a filter from a buffer, starting at its current position.
+	 * 
+	 * @param buffer a buffer written by {@link #writeTo(ByteBuffer)}
+	 * @return {@link KsuidBloomFilter}
+	 * @throws IllegalArgumentException if the buffer is invalid
+	 */
+	public static KsuidBloomFilter readFrom(final ByteBuffer buffer) {
+
+		final ByteBuffer input = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		if (input.remaining() < HEADER_BYTES || input.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Invalid Bloom filter header");
+		}
+
+		final int probes = input.getInt();
+		final int length = input.getInt();
+		if (probes < 1 || probes > MAX_PROBES || length < 1 || Integer.bitCount(length) != 1
+				|| input.remaining() < (long) length * Long.BYTES) {
+			throw new IllegalArgumentException("Invalid Bloom filter header");
+		}
+
+		final long[] words = new long[length];
+		input.asLongBuffer().get(words);
+		buffer.position(buffer.position() + HEADER_BYTES + length * Long.BYTES);
+
+		return new KsuidBloomFilter(words, probes);
+	}
+
+	private static long start(final Ksuid ksuid) {
+		return KsuidPartitioner.mix(ksuid.getLeastSignificantBits());
+	}
+
+	private static long step(final Ksuid ksuid, final long start) {
+		final long word = ksuid.getMostSignificantBits() + Ksuid.toKsuidTime(ksuid.getTime());
+		// an odd step visits distinct bits in a power of two table
+		return KsuidPartitioner.mix(word ^ start) | 1L;
+	}
+}
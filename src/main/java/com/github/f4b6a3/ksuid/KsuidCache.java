@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache that interns KSUIDs.
+ * <p>
+ * It returns the same {@link Ksuid} instance for the same value, so that hot
+ * KSUIDs that reappear many times are parsed once and share one instance in
+ * the heap. Each entry also keeps the canonical string of the KSUID.
+ * <p>
+ * Entries can be found by their canonical string or by their value. When the
+ * cache is full, an entry is evicted with the CLOCK algorithm: entries that
+ * were hit since the last sweep get a second chance.
+ * <p>
+ * Lookups don't lock. Insertions and evictions are serialized by a lock.
+ * 
+ * <pre>{@code
+ * KsuidCache cache = new KsuidCache(10_000);
+ * Ksuid ksuid = cache.intern("0ujtsYcgvSTl8PAuAdqWYSMnLOv");
+ * }</pre>
+ * 
+ * @since 4.2.0
+ */
+public final class KsuidCache {
+
+	// entries by canonical string and by KSUID
+	private final ConcurrentHashMap<Object, Entry> map;
+
+	// the clock of entries
+	private final Entry[] entries;
+	private int hand = 0;
+	private int count = 0;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Creates a cache.
+	 * 
+	 * @param capacity the maximum number of KSUIDs
+	 * @throws IllegalArgumentException if the capacity is less than one
+	 */
+	public KsuidCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.entries = new Entry[capacity];
+		this.map = new ConcurrentHashMap<>(capacity * 2);
+	}
+
+	/**
+	 * Returns the canonical instance of a KSUID in string format.
+	 * 
+	 * @param string a canonical string
+	 * @return a KSUID
+	 * @throws IllegalArgumentException if the string is invalid
+	 */
+	public Ksuid intern(final String string) {
+		final Entry entry = map.get(string);
+		if (entry != null) {
+			return hit(entry).ksuid;
+		}
+		misses.increment();
+		return put(new Entry(Ksuid.from(string), string)).ksuid;
+	}
+
+	/**
+	 * Returns the canonical instance of a KSUID in binary format.
+	 * 
+	 * @param bytes a byte array with 20 bytes
+	 * @return a KSUID
+	 * @throws IllegalArgumentException if the byte array is invalid
+	 */
+	public Ksuid intern(final byte[] bytes) {
+		return intern(Ksuid.from(bytes));
+	}
+
+	/**
+	 * Returns the canonical instance of a KSUID.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return a KSUID equal to the argument
+	 */
+	public Ksuid intern(final Ksuid ksuid) {
+		return lookup(ksuid).ksuid;
+	}
+
+	/**
+	 * Returns the canonical string of a KSUID.
+	 * <p>
+	 * The string is encoded once while the KSUID is in the cache.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return a string
+	 */
+	public String toString(final Ksuid ksuid) {
+		return lookup(ksuid).string;
+	}
+
+	/**
+	 * Returns the number of KSUIDs in the cache.
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the maximum number of KSUIDs in the cache.
+	 * 
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return entries.length;
+	}
+
+	/**
+	 * Returns the number of lookups that found a KSUID in the cache.
+	 * 
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that didn't find a KSUID in the cache.
+	 * 
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the ratio of hits to lookups.
+	 * 
+	 * @return a number from 0 to 1, or 0 if there were no lookups
+	 */
+	public double getHitRate() {
+		final long h = hits.sum();
+		final long total = h + misses.sum();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+
+	/**
+	 * Removes all KSUIDs from the cache and resets the statistics.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			map.clear();
+			for (int i = 0; i < count; i++) {
+				entries[i] = null;
+			}
+			hand = 0;
+			count = 0;
+			hits.reset();
+			misses.reset();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Entry lookup(final Ksuid ksuid) {
+		final Entry entry = map.get(ksuid);
+		if (entry != null) {
+			return hit(entry);
+		}
+		misses.increment();
+		return put(new Entry(ksuid, ksuid.toString()));
+	}
+
+	private Entry hit(final Entry entry) {
+		hits.increment();
+		if (!entry.referenced) {
+			// avoid writing to shared entries on every hit
+			entry.referenced = true;
+		}
+		return entry;
+	}
+
+	private Entry put(final Entry entry) {
+		lock.lock();
+		try {
+
+			// another thread may have inserted it
+			final Entry existing = map.get(entry.string);
+			if (existing != null) {
+				return existing;
+			}
+
+			if (count < entries.length) {
+				entries[count++] = entry;
+			} else {
+				// CLOCK: give a second chance to referenced entries
+				Entry victim = entries[hand];
+				while (victim.referenced) {
+					victim.referenced = false;
+					hand = (hand + 1) % entries.length;
+					victim = entries[hand];
+				}
+				map.remove(victim.string, victim);
+				map.remove(victim.ksuid, victim);
+				entries[hand] = entry;
+				hand = (hand + 1) % entries.length;
+			}
+
+			map.put(entry.string, entry);
+			map.put(entry.ksuid, entry);
+			return entry;
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static final class Entry {
+
+		private final Ksuid ksuid;
+		private final String string;
+
+		// set on hits and cleared by the clock hand
+		private volatile boolean referenced;
+
+		private Entry(Ksuid ksuid, String string) {
+			this.ksuid = ksuid;
+			this.string = string;
+		}
+	}
+}
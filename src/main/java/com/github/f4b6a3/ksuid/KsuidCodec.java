@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class that encodes and decodes arrays of KSUIDs.
+ * <p>
+ * It is useful to convert whole columns of KSUIDs, for example, to export or
+ * import them. Each unit of work reuses its own scratch buffers, so the only
+ * objects allocated are the outputs.
+ * <p>
+ * Large inputs are split across a {@link ForkJoinPool}. By default the common
+ * pool is used. Small inputs, or inputs given to a pool with a parallelism of
+ * 1, are processed in the calling thread.
+ * <p>
+ * The packed byte format is a sequence of KSUIDs in binary format, 20 bytes
+ * each, with no separators.
+ * 
+ * @since 4.2.0
+ */
+public final class KsuidCodec {
+
+	/**
+	 * Number of elements below which the work is not split.
+	 */
+	static final int THRESHOLD = 1 << 13;
+
+	private KsuidCodec() {
+	}
+
+	/**
+	 * Encode an array of KSUIDs into an array of canonical strings.
+	 * 
+	 * @param ksuids  an array of KSUIDs
+	 * @param strings an array of strings (output)
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 */
+	public static void encodeAll(final Ksuid[] ksuids, final String[] strings) {
+		encodeAll(ksuids, strings, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Encode an array of KSUIDs into an array of canonical strings.
+	 * 
+	 * @param ksuids  an array of KSUIDs
+	 * @param strings an array of strings (output)
+	 * @param pool    a fork-join pool
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 */
+	public static void encodeAll(final Ksuid[] ksuids, final String[] strings, final ForkJoinPool pool) {
+		validate(ksuids.length, strings.length);
+		execute(ksuids.length, pool, (from, to) -> {
+			final int[] number = new int[Ksuid.KSUID_INTS];
+			final char[] chars = new char[Ksuid.KSUID_CHARS];
+			for (int i = from; i < to; i++) {
+				ksuids[i].toInts(number);
+				Ksuid.encode(number, chars);
+				strings[i] = new String(chars);
+			}
+		});
+	}
+
+	/**
+	 * Decode an array of canonical strings into an array of KSUIDs.
+	 * 
+	 * @param strings an array of strings
+	 * @param ksuids  an array of KSUIDs (output)
+	 * @throws IllegalArgumentException if the arrays have different lengths or
+	 *                                  if any string is invalid
+	 */
+	public static void decodeAll(final String[] strings, final Ksuid[] ksuids) {
+		decodeAll(strings, ksuids, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Decode an array of canonical strings into an array of KSUIDs.
+	 * 
+	 * @param strings an array of strings
+	 * @param ksuids  an array of KSUIDs (output)
+	 * @param pool    a fork-join pool
+	 * @throws IllegalArgumentException if the arrays have different lengths or
+	 *                                  if any string is invalid
+	 */
+	public static void decodeAll(final String[] strings, final Ksuid[] ksuids, final ForkJoinPool pool) {
+		validate(strings.length, ksuids.length);
+		execute(strings.length, pool, (from, to) -> {
+			final int[] number = new int[Ksuid.KSUID_INTS];
+			for (int i = from; i < to; i++) {
+				Ksuid.validate(strings[i]);
+				Ksuid.decode(strings[i], number);
+				ksuids[i] = new Ksuid(number);
+			}
+		});
+	}
+
+	/**
+	 * Encode an array of KSUIDs into packed bytes.
+	 * 
+	 * @param ksuids an array of KSUIDs
+	 * @param bytes  an array of 20 bytes per KSUID (output)
+	 * @throws IllegalArgumentException if the byte array length is not 20 times
+	 *                                  the number of KSUIDs
+	 */
+	public static void encodeAll(final Ksuid[] ksuids, final byte[] bytes) {
+		encodeAll(ksuids, bytes, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Encode an array of KSUIDs into packed bytes.
+	 * 
+	 * @param ksuids an array of KSUIDs
+	 * @param bytes  an array of 20 bytes per KSUID (output)
+	 * @param pool   a fork-join pool
+	 * @throws IllegalArgumentException if the byte array length is not 20 times
+	 *                                  the number of KSUIDs
+	 */
+	public static void encodeAll(final Ksuid[] ksuids, final byte[] bytes, final ForkJoinPool pool) {
+		validate((long) ksuids.length * Ksuid.KSUID_BYTES, bytes.length);
+		execute(ksuids.length, pool, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				ksuids[i].toBytes(bytes, i * Ksuid.KSUID_BYTES);
+			}
+		});
+	}
+
+	/**
+	 * Decode packed bytes into an array of KSUIDs.
+	 * 
+	 * @param bytes  an array of 20 bytes per KSUID
+	 * @param ksuids an array of KSUIDs (output)
+	 * @throws IllegalArgumentException if the byte array length is not 20 times
+	 *                                  the number of KSUIDs
+	 */
+	public static void decodeAll(final byte[] bytes, final Ksuid[] ksuids) {
+		decodeAll(bytes, ksuids, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Decode packed bytes into an array of KSUIDs.
+	 * 
+	 * @param bytes  an array of 20 bytes per KSUID
+	 * @param ksuids an array of KSUIDs (output)
+	 * @param pool   a fork-join pool
+	 * @throws IllegalArgumentException if the byte array length is not 20 times
+	 *                                  the number of KSUIDs
+	 */
+	public static void decodeAll(final byte[] bytes, final Ksuid[] ksuids, final ForkJoinPool pool) {
+		validate(bytes.length, (long) ksuids.length * Ksuid.KSUID_BYTES);
+		execute(ksuids.length, pool, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				ksuids[i] = new Ksuid(bytes, i * Ksuid.KSUID_BYTES);
+			}
+		});
+	}
+
+	private static void validate(long inputLength, long outputLength) {
+		if (inputLength != outputLength) {
+			throw new IllegalArgumentException("Invalid output length"); // wrong length!
+		}
+	}
+
+	private static void execute(final int length, final ForkJoinPool pool, final Work work) {
+		if (length <= THRESHOLD || pool.getParallelism() <= 1) {
+			work.run(0, length); // too small to split or no one to share with
+		} else {
+			pool.invoke(new Task(work, 0, length));
+		}
+	}
+
+	@FunctionalInterface
+	private static interface Work {
+		void run(int from, int to);
+	}
+
+	private static final class Task extends RecursiveAction {
+
+		private static final long serialVersionUID = -6178393914543406617L;
+
+		private final Work work;
+		private final int from;
+		private final int to;
+
+		Task(Work work, int from, int to) {
+			this.work = work;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= THRESHOLD) {
+				work.run(from, to);
+			} else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new Task(work, from, middle), new Task(work, middle, to));
+			}
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class that accumulates the measurements of a {@link KsuidFactory}.
+ * <p>
+ * The counters are {@link LongAdder} instances, so that threads don't contend
+ * for updating them. Their values can be exported periodically, for example,
+ * as function counters of Micrometer.
+ * <p>
+ * Usage:
+ * 
+ * <pre>{@code
+ * KsuidCounters counters = new KsuidCounters();
+ * KsuidFactory factory = KsuidFactory.newMonotonicInstance(counters);
+ * }</pre>
+ * 
+ * @since 4.2.0
+ */
+public final class KsuidCounters implements KsuidMetrics {
+
+	private final LongAdder created = new LongAdder();
+	private final LongAdder lockWaits = new LongAdder();
+	private final LongAdder lockWaitNanos = new LongAdder();
+	private final LongAdder randomReads = new LongAdder();
+	private final LongAdder randomBytes = new LongAdder();
+	private final LongAdder randomNanos = new LongAdder();
+	private final LongAdder increments = new LongAdder();
+	private final LongAdder resets = new LongAdder();
+	private final LongAdder clockDrifts = new LongAdder();
+
+	@Override
+	public void onCreate(final int count) {
+		created.add(count);
+	}
+
+	@Override
+	public void onLockWait(final long nanos) {
+		lockWaits.increment();
+		lockWaitNanos.add(nanos);
+	}
+
+	@Override
+	public void onRandom(final int bytes, final long nanos) {
+		randomReads.increment();
+		randomBytes.add(bytes);
+		randomNanos.add(nanos);
+	}
+
+	@Override
+	public void onIncrement() {
+		increments.increment();
+	}
+
+	@Override
+	public void onReset() {
+		resets.increment();
+	}
+
+	@Override
+	public void onClockDrift(final long seconds) {
+		clockDrifts.increment();
+	}
+
+	/**
+	 * Returns the number of KSUIDs generated.
+	 * 
+	 * @return a number
+	 */
+	public long getCreated() {
+		return created.sum();
+	}
+
+	/**
+	 * Returns how many times a thread had to wait for the factory lock.
+	 * 
+	 * @return a number
+	 */
+	public long getLockWaits() {
+		return lockWaits.sum();
+	}
+
+	/**
+	 * Returns the total time spent waiting for the factory lock.
+	 * 
+	 * @return a number of nanoseconds
+	 */
+	public long getLockWaitNanos() {
+		return lockWaitNanos.sum();
+	}
+
+	/**
+	 * Returns how many times the random generator was read.
+	 * 
+	 * @return a number
+	 */
+	public long getRandomReads() {
+		return randomReads.sum();
+	}
+
+	/**
+	 * Returns the number of bytes read from the random generator.
+	 * 
+	 * @return a number
+	 */
+	public long getRandomBytes() {
+		return randomBytes.sum();
+	}
+
+	/**
+	 * Returns the total time spent reading the random generator.
+	 * 
+	 * @return a number of nanoseconds
+	 */
+	public long getRandomNanos() {
+		return randomNanos.sum();
+	}
+
+	/**
+	 * Returns how many Monotonic KSUIDs were created by incrementing the
+	 * previous payload.
+	 * 
+	 * @return a number
+	 */
+	public long getIncrements() {
+		return increments.sum();
+	}
+
+	/**
+	 * Returns how many Monotonic KSUIDs were created with a new random payload.
+	 * 
+	 * @return a number
+	 */
+	public long getResets() {
+		return resets.sum();
+	}
+
+	/**
+	 * Returns how many times the clock was behind the previous Monotonic KSUID
+	 * within the drift tolerance.
+	 * 
+	 * @return a number
+	 */
+	public long getClockDrifts() {
+		return clockDrifts.sum();
+	}
+
+	/**
+	 * Resets all counters to zero.
+	 * <p>
+	 * Updates made concurrently may be lost.
+	 */
+	public void reset() {
+		created.reset();
+		lockWaits.reset();
+		lockWaitNanos.reset();
+		randomReads.reset();
+		randomBytes.reset();
+		randomNanos.reset();
+		increments.reset();
+		resets.reset();
+		clockDrifts.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "KsuidCounters [created=" + getCreated() + ", lockWaits=" + getLockWaits() + ", lockWaitNanos="
+				+ getLockWaitNanos() + ", randomReads=" + getRandomReads() + ", randomBytes=" + getRandomBytes()
+				+ ", randomNanos=" + getRandomNanos() + ", increments=" + getIncrements() + ", resets="
+				+ getResets() + ", clockDrifts=" + getClockDrifts() + "]";
+	}
+}
@@ -24,7 +24,11 @@
 
 package com.github.f4b6a3.ksuid;
 
+import java.security.SecureRandom;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
 
 /**
  * A class that generates KSUIDs.
@@ -106,6 +110,45 @@ public final class KsuidCreator {
 		return MonotonicHolder.INSTANCE.create(instant);
 	}
 
+	/**
+	 * Returns an effectively unlimited stream of Segment's KSUIDs generated by
+	 * {@link SplittableRandom}.
+	 * <p>
+	 * The stream is backed by a splittable spliterator. Each split has its own
+	 * {@link SplittableRandom}, so that parallel streams don't share any state.
+	 * The root generator is seeded by {@link SecureRandom}.
+	 * <p>
+	 * Note that {@link SplittableRandom} is not cryptographically secure. This
+	 * stream is meant for bulk data, for example, to fill test tables.
+	 * 
+	 * @return a stream of KSUIDs
+	 * @since 4.2.0
+	 */
+	public static Stream<Ksuid> getSplittableKsuidStream() {
+		return getSplittableKsuidStream(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Returns a stream of Segment's KSUIDs generated by {@link SplittableRandom}
+	 * with a given size.
+	 * <p>
+	 * The stream is backed by a splittable spliterator. Each split has its own
+	 * {@link SplittableRandom}, so that parallel streams don't share any state.
+	 * The root generator is seeded by {@link SecureRandom}.
+	 * <p>
+	 * Note that {@link SplittableRandom} is not cryptographically secure. This
+	 * stream is meant for bulk data, for example, to fill test tables.
+	 * 
+	 * @param size the number of KSUIDs
+	 * @return a stream of KSUIDs
+	 * @throws IllegalArgumentException if the size is negative
+	 * @since 4.2.0
+	 */
+	public static Stream<Ksuid> getSplittableKsuidStream(long size) {
+		final SplittableRandom random = new SplittableRandom(new SecureRandom().nextLong());
+		return KsuidFactory.newSplittableStream(size, random, Clock.systemUTC());
+	}
+
 	private static class FactoryHolder {
 		static final KsuidFactory INSTANCE = KsuidFactory.newInstance();
 	}
@@ -0,0 +1,389 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A duplicate detector for streams of KSUIDs.
+ * <p>
+ * It remembers the KSUIDs seen within a time window. The window is based on
+ * the time of the KSUIDs, not on the clock: it ends at the most recent KSUID
+ * time seen so far.
+ * <p>
+ * The KSUIDs are grouped into buckets by their time, one bucket per second by
+ * default. Each bucket keeps a compact hash set of payloads and their seconds
+ * within the bucket. When the window
+ * slides, whole buckets expire at once, so the memory is bounded by the number
+ * of KSUIDs within the window.
+ * <p>
+ * KSUIDs older than the window can't be checked, and KSUIDs too far in the
+ * future according to the clock are rejected, so that a single corrupt KSUID
+ * can't slide the window ahead and expire all the others. Both are reported by
+ * {@link #offer(Ksuid)}, so that they are not mistaken for duplicates.
+ * <p>
+ * Instances of this class are thread safe.
+ * 
+ * <pre>{@code
+ * KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofMinutes(5));
+ * switch (deduplicator.offer(ksuid)) {
+ * case ADDED:
+ * 	process(event);
+ * 	break;
+ * case DUPLICATE:
+ * 	break;
+ * default:
+ * 	handleUnchecked(event); // expired or from the future
+ * }
+ * }</pre>
+ * 
+ * @since 4.2.0
+ */
+public final class KsuidDeduplicator {
+
+	private final long width; // in seconds
+	private final long horizon; // in seconds
+	private final Bucket[] buckets;
+	private final Clock clock;
+
+	private long latest = -1; // the most recent bucket index
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Default horizon of one minute.
+	 */
+	public static final Duration DEFAULT_HORIZON = Duration.ofMinutes(1);
+
+	/**
+	 * The result of offering a KSUID.
+	 */
+	public enum Result {
+		/**
+		 * The KSUID is new and was added.
+		 */
+		ADDED,
+		/**
+		 * The KSUID was seen within the window.
+		 */
+		DUPLICATE,
+		/**
+		 * The KSUID is older than the window, so it can't be checked.
+		 */
+		EXPIRED,
+		/**
+		 * The KSUID is beyond the horizon, so it was not added.
+		 */
+		FUTURE
+	}
+
+	/**
+	 * Creates a deduplicator with buckets of one second.
+	 * 
+	 * @param window the duration to remember KSUIDs, at least one second
+	 * @throws IllegalArgumentException if the window is invalid
+	 */
+	public KsuidDeduplicator(Duration window) {
+		this(window, Duration.ofSeconds(1));
+	}
+
+	/**
+	 * Creates a deduplicator with the default horizon.
+	 * <p>
+	 * Wider buckets use less memory for sparse streams, but the window can be
+	 * extended by up to one bucket width.
+	 * 
+	 * @param window the duration to remember KSUIDs, at least one second
+	 * @param width  the width of the buckets in whole seconds, not greater than
+	 *               the window
+	 * @throws IllegalArgumentException if the window or the width is invalid
+	 */
+	public KsuidDeduplicator(Duration window, Duration width) {
+		this(window, width, DEFAULT_HORIZON);
+	}
+
+	/**
+	 * Creates a deduplicator.
+	 * <p>
+	 * Wider buckets use less memory for sparse streams, but the window can be
+	 * extended by up to one bucket width.
+	 * <p>
+	 * The horizon is how far the time of a KSUID may be ahead of the system
+	 * clock, for example, due to clock skew between hosts.
+	 * 
+	 * @param window  the duration to remember KSUIDs, at least one second
+	 * @param width   the width of the buckets in whole seconds, not greater than
+	 *                the window
+	 * @param horizon the maximum time of KSUIDs ahead of the clock, not negative
+	 * @throws IllegalArgumentException if the window, the width or the horizon
+	 *                                  is invalid
+	 */
+	public KsuidDeduplicator(Duration window, Duration width, Duration horizon) {
+		this(window, width, horizon, Clock.systemUTC());
+	}
+
+	KsuidDeduplicator(Duration window, Duration width, Duration horizon, Clock clock) {
+
+		if (window == null || window.getSeconds() < 1) {
+			throw new IllegalArgumentException("Invalid window: " + window);
+		}
+		if (width == null || width.getSeconds() < 1 || width.getNano() != 0 || width.compareTo(window) > 0) {
+			throw new IllegalArgumentException("Invalid bucket width: " + width);
+		}
+
+		if (horizon == null || horizon.isNegative()) {
+			throw new IllegalArgumentException("Invalid horizon: " + horizon);
+		}
+
+		this.width = width.getSeconds();
+		this.horizon = horizon.getSeconds();
+		this.clock = clock;
+
+		// the window plus the current bucket
+		final long seconds = window.getSeconds() + (window.getNano() > 0 ? 1 : 0);
+		final long count = (seconds + this.width - 1) / this.width + 1;
+		if (count > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many buckets: " + count);
+		}
+
+		this.buckets = new Bucket[(int) count];
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new Bucket();
+		}
+	}
+
+	/**
+	 * Adds a KSUID if it was not seen within the window.
+	 * <p>
+	 * It returns false for duplicates, but also for KSUIDs that can't be
+	 * checked. Use {@link #offer(Ksuid)} to tell them apart.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return true if the KSUID is new, false otherwise
+	 */
+	public boolean add(final Ksuid ksuid) {
+		return offer(ksuid) == Result.ADDED;
+	}
+
+	/**
+	 * Adds a KSUID if it was not seen within the window.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return {@link Result#ADDED} if the KSUID is new,
+	 *         {@link Result#DUPLICATE} if it was seen, {@link Result#EXPIRED}
+	 *         if it is older than the window, or {@link Result#FUTURE} if it is
+	 *         beyond the horizon
+	 */
+	public Result offer(final Ksuid ksuid) {
+
+		if (ksuid.getTime() > Math.floorDiv(clock.millis(), 1000L) + horizon) {
+			return Result.FUTURE;
+		}
+
+		final long time = time(ksuid);
+		final long index = time / width;
+		lock.lock();
+		try {
+
+			if (index > latest) {
+				latest = index;
+			} else if (index <= latest - buckets.length) {
+				return Result.EXPIRED;
+			}
+
+			final Bucket bucket = buckets[(int) (index % buckets.length)];
+			if (bucket.index != index) {
+				// expire the whole bucket
+				bucket.index = index;
+				bucket.payloads = new PayloadSet();
+			}
+
+			final boolean added = bucket.payloads.add(ksuid.getMostSignificantBits(),
+					ksuid.getLeastSignificantBits(), time % width);
+			return added ? Result.ADDED : Result.DUPLICATE;
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Checks if a KSUID was seen within the window.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return true if the KSUID was seen
+	 */
+	public boolean contains(final Ksuid ksuid) {
+		final long time = time(ksuid);
+		final long index = time / width;
+		lock.lock();
+		try {
+
+			if (index > latest || index <= latest - buckets.length) {
+				return false;
+			}
+
+			final Bucket bucket = buckets[(int) (index % buckets.length)];
+			return bucket.index == index && bucket.payloads.contains(ksuid.getMostSignificantBits(),
+					ksuid.getLeastSignificantBits(), time % width);
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Checks if a KSUID is older than the window.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return true if the KSUID can't be checked anymore
+	 */
+	public boolean isExpired(final Ksuid ksuid) {
+		final long index = time(ksuid) / width;
+		lock.lock();
+		try {
+			return index <= latest - buckets.length;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of KSUIDs within the window.
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			int size = 0;
+			for (Bucket bucket : buckets) {
+				if (bucket.index > latest - buckets.length) {
+					size += bucket.payloads.size;
+				}
+			}
+			return size;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Forgets all the KSUIDs.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			for (Bucket bucket : buckets) {
+				bucket.index = -1;
+				bucket.payloads = PayloadSet.EMPTY;
+			}
+			latest = -1;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static long time(final Ksuid ksuid) {
+		return Ksuid.toKsuidTime(ksuid.getTime());
+	}
+
+	private static final class Bucket {
+		private long index = -1;
+		private PayloadSet payloads = PayloadSet.EMPTY;
+	}
+
+	/**
+	 * An open addressing hash set of 128-bit payloads and their seconds within
+	 * the bucket.
+	 * <p>
+	 * The entries are stored in a flat array of longs, three per entry. The
+	 * second is stored plus one, so that a zero marks an empty slot.
+	 */
+	private static final class PayloadSet {
+
+		// only used as a placeholder of expired buckets
+		private static final PayloadSet EMPTY = new PayloadSet();
+
+		private static final int INITIAL_CAPACITY = 16;
+		private static final int STRIDE = 3;
+
+		private long[] table = new long[INITIAL_CAPACITY * STRIDE];
+		private int size = 0;
+
+		boolean add(final long msb, final long lsb, final long second) {
+
+			final int slot = find(table, msb, lsb, second + 1);
+			if (table[slot + 2] != 0) {
+				return false; // duplicate
+			}
+
+			table[slot] = msb;
+			table[slot + 1] = lsb;
+			table[slot + 2] = second + 1;
+			size++;
+
+			// load factor: 0.5
+			if (size * 2 * STRIDE > table.length) {
+				resize();
+			}
+			return true;
+		}
+
+		boolean contains(final long msb, final long lsb, final long second) {
+			final int slot = find(table, msb, lsb, second + 1);
+			return table[slot + 2] != 0;
+		}
+
+		private void resize() {
+			final long[] old = table;
+			table = new long[old.length * 2];
+			for (int i = 0; i < old.length; i += STRIDE) {
+				if (old[i + 2] != 0) {
+					final int slot = find(table, old[i], old[i + 1], old[i + 2]);
+					table[slot] = old[i];
+					table[slot + 1] = old[i + 1];
+					table[slot + 2] = old[i + 2];
+				}
+			}
+		}
+
+		// returns the slot of the entry or of an empty slot
+		private static int find(final long[] table, final long msb, final long lsb, final long key) {
+			final int mask = (table.length / STRIDE) - 1;
+			int i = (int) KsuidPartitioner.mix(msb ^ lsb ^ key) & mask;
+			while (true) {
+				final int slot = i * STRIDE;
+				final long k = table[slot + 2];
+				if (k == 0 || (k == key && table[slot] == msb && table[slot + 1] == lsb)) {
+					return slot;
+				}
+				i = (i + 1) & mask;
+			}
+		}
+	}
+}
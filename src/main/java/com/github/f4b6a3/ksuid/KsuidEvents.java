@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+/**
+ * Hooks that report anomalies in the generation of KSUIDs.
+ * <p>
+ * This is the Java 8 implementation, which does nothing. Newer JVMs load the
+ * implementation found in the versioned directory of the multi-release JAR,
+ * which emits JDK Flight Recorder events.
+ */
+final class KsuidEvents {
+
+	private KsuidEvents() {
+	}
+
+	/**
+	 * Called before reading the random generator.
+	 * 
+	 * @return an event to be passed to {@link #endRandom(Object, int)}
+	 */
+	static Object beginRandom() {
+		return null;
+	}
+
+	/**
+	 * Called after reading the random generator.
+	 * 
+	 * @param event the event returned by {@link #beginRandom()}
+	 * @param bytes the number of bytes read
+	 */
+	static void endRandom(final Object event, final int bytes) {
+	}
+
+	/**
+	 * Called before waiting for a lock that is held by another thread.
+	 * 
+	 * @return an event to be passed to {@link #endLockWait(Object)}
+	 */
+	static Object beginLockWait() {
+		return null;
+	}
+
+	/**
+	 * Called after acquiring the lock.
+	 * 
+	 * @param event the event returned by {@link #beginLockWait()}
+	 */
+	static void endLockWait(final Object event) {
+	}
+
+	/**
+	 * Called when the clock is behind the time of the previous KSUID.
+	 * 
+	 * @param previous  the time of the previous KSUID in seconds
+	 * @param current   the time of the clock in seconds
+	 * @param tolerated true if the previous time is kept
+	 */
+	static void clockRegression(final long previous, final long current, final boolean tolerated) {
+	}
+
+	/**
+	 * Called when the payload overflows and the time is incremented.
+	 * 
+	 * @param time the time of the KSUID whose payload overflowed in seconds
+	 */
+	static void payloadOverflow(final long time) {
+	}
+}
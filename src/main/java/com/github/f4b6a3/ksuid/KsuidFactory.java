@@ -28,9 +28,15 @@ import java.security.SecureRandom;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A class that actually generates KSUIDs.
@@ -53,8 +59,21 @@ import java.util.function.LongSupplier;
 public final class KsuidFactory {
 
 	private final Clock clock; // for tests
-	private final Function<Instant, Ksuid> ksuidFunction;
+	private final IFunction ksuidFunction;
 
+	// not null if the function can skip the instant
+	private final IFunction millisecondFunction;
+
+	// true if the function doesn't need the factory lock
+	private final boolean concurrent;
+
+	// a lock that doesn't pin virtual threads to carrier threads
+	private final ReentrantLock lock = new ReentrantLock();
+
+	// null if the factory is not measured
+	private final KsuidMetrics metrics;
+
+	static final int PRECISION_SECOND = 0;
 	static final int PRECISION_MILLISECOND = 1;
 	static final int PRECISION_MICROSECOND = 2;
 	static final int PRECISION_NANOSECOND = 3;
@@ -75,8 +94,23 @@ public final class KsuidFactory {
 	}
 
 	KsuidFactory(Function<Instant, Ksuid> ksuidFunction, Clock clock) {
-		this.ksuidFunction = ksuidFunction;
+		this(ksuidFunction, clock, null);
+	}
+
+	KsuidFactory(Function<Instant, Ksuid> ksuidFunction, Clock clock, KsuidMetrics metrics) {
+		this.ksuidFunction = ksuidFunction instanceof IFunction ? (IFunction) ksuidFunction
+				: new InstantFunction(ksuidFunction);
 		this.clock = clock != null ? clock : Clock.systemUTC();
+		this.metrics = metrics;
+
+		if (this.ksuidFunction.getPrecision() <= PRECISION_MILLISECOND) {
+			// the clock millis are enough for this function
+			this.millisecondFunction = this.ksuidFunction;
+		} else {
+			this.millisecondFunction = null;
+		}
+
+		this.concurrent = this.ksuidFunction.isConcurrent();
 	}
 
 	/**
@@ -120,6 +154,55 @@ public final class KsuidFactory {
 		return new KsuidFactory(new KsuidFunction(IRandom.newInstance(randomFunction)));
 	}
 
+	/**
+	 * Returns a new Segment's KSUID factory that reports to a metrics
+	 * interface.
+	 * 
+	 * @param metrics a metrics interface, e.g. a {@link KsuidCounters}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newInstance(KsuidMetrics metrics) {
+		return newInstance((Random) null, metrics);
+	}
+
+	/**
+	 * Returns a new Segment's KSUID factory that reports to a metrics
+	 * interface.
+	 * 
+	 * @param random  a {@link Random} generator
+	 * @param metrics a metrics interface, e.g. a {@link KsuidCounters}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newInstance(Random random, KsuidMetrics metrics) {
+		final IRandom metered = IRandom.newInstance(IRandom.newInstance(random), metrics);
+		return new KsuidFactory(new KsuidFunction(metered), null, metrics);
+	}
+
+	/**
+	 * Returns a new Segment's KSUID factory.
+	 * 
+	 * @param clock a custom clock instance, e.g. a {@link CoarseClock}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newInstance(Clock clock) {
+		return new KsuidFactory(new KsuidFunction(IRandom.newInstance()), clock);
+	}
+
+	/**
+	 * Returns a new Segment's KSUID factory.
+	 * 
+	 * @param random a {@link Random} generator
+	 * @param clock  a custom clock instance, e.g. a {@link CoarseClock}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newInstance(Random random, Clock clock) {
+		return new KsuidFactory(new KsuidFunction(IRandom.newInstance(random)), clock);
+	}
+
 	/**
 	 * Returns a new Segment's KSUID factory.
 	 * 
@@ -181,6 +264,33 @@ public final class KsuidFactory {
 		return new KsuidFactory(getSubsecondFunction(new ByteRandom(randomFunction)));
 	}
 
+	/**
+	 * Returns a new Sub-second KSUID factory.
+	 * <p>
+	 * The sub-second precision is detected from the clock.
+	 * 
+	 * @param clock a custom clock instance, e.g. a {@link CoarseClock}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newSubsecondInstance(Clock clock) {
+		return new KsuidFactory(getSubsecondFunction(new ByteRandom(), clock), clock);
+	}
+
+	/**
+	 * Returns a new Sub-second KSUID factory.
+	 * <p>
+	 * The sub-second precision is detected from the clock.
+	 * 
+	 * @param random a {@link Random} generator
+	 * @param clock  a custom clock instance, e.g. a {@link CoarseClock}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newSubsecondInstance(Random random, Clock clock) {
+		return new KsuidFactory(getSubsecondFunction(IRandom.newInstance(random), clock), clock);
+	}
+
 	/**
 	 * Returns a new Sub-second KSUID factory.
 	 * 
@@ -242,6 +352,55 @@ public final class KsuidFactory {
 		return new KsuidFactory(new MonotonicFunction(IRandom.newInstance(randomFunction)));
 	}
 
+	/**
+	 * Returns a new Monotonic KSUID factory that reports to a metrics
+	 * interface.
+	 * 
+	 * @param metrics a metrics interface, e.g. a {@link KsuidCounters}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newMonotonicInstance(KsuidMetrics metrics) {
+		return newMonotonicInstance((Random) null, metrics);
+	}
+
+	/**
+	 * Returns a new Monotonic KSUID factory that reports to a metrics
+	 * interface.
+	 * 
+	 * @param random  a {@link Random} generator
+	 * @param metrics a metrics interface, e.g. a {@link KsuidCounters}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newMonotonicInstance(Random random, KsuidMetrics metrics) {
+		final IRandom metered = IRandom.newInstance(IRandom.newInstance(random), metrics);
+		return new KsuidFactory(new MonotonicFunction(metered, metrics), null, metrics);
+	}
+
+	/**
+	 * Returns a new Monotonic KSUID factory.
+	 * 
+	 * @param clock a custom clock instance, e.g. a {@link CoarseClock}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newMonotonicInstance(Clock clock) {
+		return new KsuidFactory(new MonotonicFunction(IRandom.newInstance()), clock);
+	}
+
+	/**
+	 * Returns a new Monotonic KSUID factory.
+	 * 
+	 * @param random a {@link Random} generator
+	 * @param clock  a custom clock instance, e.g. a {@link CoarseClock}
+	 * @return {@link KsuidFactory}
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newMonotonicInstance(Random random, Clock clock) {
+		return new KsuidFactory(new MonotonicFunction(IRandom.newInstance(random)), clock);
+	}
+
 	/**
 	 * Returns a new Monotonic KSUID factory.
 	 * 
@@ -264,17 +423,170 @@ public final class KsuidFactory {
 		return new KsuidFactory(new MonotonicFunction(IRandom.newInstance(randomFunction)), clock);
 	}
 
+	/**
+	 * Returns a new Monotonic KSUID factory that reports to a metrics
+	 * interface.
+	 * 
+	 * @param randomFunction a random function that returns a long value
+	 * @param clock          a custom clock instance for tests
+	 * @param metrics        a metrics interface
+	 * @return {@link KsuidFactory}
+	 */
+	static KsuidFactory newMonotonicInstance(LongSupplier randomFunction, Clock clock, KsuidMetrics metrics) {
+		final IRandom metered = IRandom.newInstance(IRandom.newInstance(randomFunction), metrics);
+		return new KsuidFactory(new MonotonicFunction(metered, metrics), clock, metrics);
+	}
+
+	/**
+	 * Returns a new Striped Monotonic KSUID factory.
+	 * <p>
+	 * Each stripe is an independent monotonic generator, and each thread always
+	 * uses the same stripe. So the KSUIDs generated by a thread are monotonic,
+	 * while threads in different stripes don't contend for the same lock.
+	 * <p>
+	 * The stripe index is stored in the most significant bits of the payload,
+	 * so KSUIDs from different stripes never collide. The number of stripes is
+	 * rounded up to a power of 2, up to 256, and each doubling takes one bit of
+	 * the payload.
+	 * 
+	 * @param stripes the number of stripes, e.g. the number of processors
+	 * @return {@link KsuidFactory}
+	 * @throws IllegalArgumentException if the number of stripes is not between 1
+	 *                                  and 256
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newStripedMonotonicInstance(int stripes) {
+		return new KsuidFactory(new StripedMonotonicFunction(IRandom.newInstance(), stripes));
+	}
+
+	/**
+	 * Returns a new Striped Monotonic KSUID factory.
+	 * 
+	 * @param stripes the number of stripes, e.g. the number of processors
+	 * @param random  a {@link Random} generator
+	 * @return {@link KsuidFactory}
+	 * @throws IllegalArgumentException if the number of stripes is not between 1
+	 *                                  and 256
+	 * @see #newStripedMonotonicInstance(int)
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newStripedMonotonicInstance(int stripes, Random random) {
+		return new KsuidFactory(new StripedMonotonicFunction(IRandom.newInstance(random), stripes));
+	}
+
+	/**
+	 * Returns a new Striped Monotonic KSUID factory.
+	 * 
+	 * @param stripes        the number of stripes
+	 * @param randomFunction a random function that returns a long value
+	 * @param clock          a custom clock instance for tests
+	 * @return {@link KsuidFactory}
+	 */
+	static KsuidFactory newStripedMonotonicInstance(int stripes, LongSupplier randomFunction, Clock clock) {
+		return new KsuidFactory(new StripedMonotonicFunction(IRandom.newInstance(randomFunction), stripes), clock);
+	}
+
+	/**
+	 * Returns a new Node KSUID factory.
+	 * <p>
+	 * The payload of a Node KSUID has three parts: a node identifier, a counter
+	 * and random bits. The node identifier is stored in the most significant
+	 * bits of the payload, followed by the counter, both in the first 64 bits.
+	 * The last 64 bits are random.
+	 * <p>
+	 * The counter starts at a random value every second and is incremented for
+	 * every KSUID, like in Monotonic KSUIDs. So, if every node of a cluster has
+	 * a unique identifier, the KSUIDs are unique across the cluster, without
+	 * relying on randomness. That's why a fast non-secure random generator is
+	 * used for the random bits.
+	 * <p>
+	 * The uniqueness is not guaranteed if the system clock moves backwards by
+	 * more than 10 seconds.
+	 * <p>
+	 * The default number of node bits is 16.
+	 * 
+	 * @param node the node identifier, from 0 to 65535
+	 * @return {@link KsuidFactory}
+	 * @throws IllegalArgumentException if the node identifier is out of range
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newNodeInstance(int node) {
+		return newNodeInstance(node, NodeFunction.DEFAULT_NODE_BITS);
+	}
+
+	/**
+	 * Returns a new Node KSUID factory.
+	 * 
+	 * @param node     the node identifier, from 0 to 2^nodeBits - 1
+	 * @param nodeBits the number of node bits, from 1 to 31
+	 * @return {@link KsuidFactory}
+	 * @throws IllegalArgumentException if the node identifier or the number of
+	 *                                  node bits is out of range
+	 * @see #newNodeInstance(int)
+	 * @since 4.2.0
+	 */
+	public static KsuidFactory newNodeInstance(int node, int nodeBits) {
+		final SplittableRandom random = new SplittableRandom(new SecureRandom().nextLong());
+		return new KsuidFactory(new NodeFunction(new LongRandom(random::nextLong), node, nodeBits));
+	}
+
+	/**
+	 * Returns a new Node KSUID factory.
+	 * 
+	 * @param node           the node identifier
+	 * @param nodeBits       the number of node bits
+	 * @param randomFunction a random function that returns a long value
+	 * @param clock          a custom clock instance for tests
+	 * @return {@link KsuidFactory}
+	 */
+	static KsuidFactory newNodeInstance(int node, int nodeBits, LongSupplier randomFunction, Clock clock) {
+		return new KsuidFactory(new NodeFunction(IRandom.newInstance(randomFunction), node, nodeBits), clock);
+	}
+
+	/**
+	 * Returns a stream of Segment's KSUIDs with a given size.
+	 * <p>
+	 * The stream is backed by a splittable spliterator. Each split has its own
+	 * {@link SplittableRandom}, so that parallel streams don't share any state.
+	 * 
+	 * @param size   the number of KSUIDs
+	 * @param random a splittable random generator
+	 * @param clock  a clock instance
+	 * @return a stream of KSUIDs
+	 * @throws IllegalArgumentException if the size is negative
+	 */
+	static Stream<Ksuid> newSplittableStream(long size, SplittableRandom random, Clock clock) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Invalid size: " + size);
+		}
+		return StreamSupport.stream(new KsuidSpliterator(random, clock, 0, size), false);
+	}
+
 	// ******************************
 	// Public methods
 	// ******************************
 
 	/**
 	 * Create a KSUID.
+	 * <p>
+	 * If the KSUID precision is up to millisecond, the time is read from
+	 * {@link Clock#millis()}, so that no {@link Instant} is created.
 	 * 
 	 * @return a KSUID
 	 */
-	public synchronized Ksuid create() {
-		return ksuidFunction.apply(clock.instant());
+	public Ksuid create() {
+		if (metrics != null) {
+			metrics.onCreate(1);
+		}
+		if (concurrent) {
+			return apply();
+		}
+		lock();
+		try {
+			return apply();
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -283,18 +595,248 @@ public final class KsuidFactory {
 	 * @param instant an instant
 	 * @return a KSUID
 	 */
-	public synchronized Ksuid create(final Instant instant) {
-		return ksuidFunction.apply(instant);
+	public Ksuid create(final Instant instant) {
+		if (metrics != null) {
+			metrics.onCreate(1);
+		}
+		if (concurrent) {
+			return ksuidFunction.apply(instant);
+		}
+		lock();
+		try {
+			return ksuidFunction.apply(instant);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Create many KSUIDs at once.
+	 * <p>
+	 * The clock is read once and the lock is acquired once for the whole batch,
+	 * so all the KSUIDs have the same time. The random payloads of Segment's
+	 * KSUIDs are drawn in bulk.
+	 * <p>
+	 * It is useful to satisfy bursts of demand, for example, the requests of a
+	 * reactive subscriber.
+	 * 
+	 * @param count the number of KSUIDs
+	 * @return an array of KSUIDs
+	 * @throws IllegalArgumentException if the count is negative
+	 * @since 4.2.0
+	 */
+	public Ksuid[] createAll(final int count) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException("Invalid count: " + count);
+		}
+
+		if (metrics != null) {
+			metrics.onCreate(count);
+		}
+
+		final Ksuid[] ksuids = new Ksuid[count];
+		if (concurrent) {
+			applyAll(ksuids);
+			return ksuids;
+		}
+		lock();
+		try {
+			applyAll(ksuids);
+			return ksuids;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Reserve a block of contiguous Monotonic KSUIDs.
+	 * <p>
+	 * The block is reserved with a single lock acquisition. The KSUIDs of the
+	 * block are the same that would be returned by calling {@link #create()}
+	 * many times in a row.
+	 * <p>
+	 * Only factories returned by {@link #newMonotonicInstance()} and its
+	 * overloads support this method.
+	 * 
+	 * @param count the number of KSUIDs, greater than zero
+	 * @return a range of KSUIDs
+	 * @throws IllegalArgumentException      if the count is less than one
+	 * @throws UnsupportedOperationException if the factory is not monotonic
+	 * @since 4.2.0
+	 */
+	public KsuidRange reserve(final int count) {
+
+		if (count < 1) {
+			throw new IllegalArgumentException("Invalid count: " + count);
+		}
+
+		final KsuidRange range;
+		lock();
+		try {
+			range = reserveAll(count);
+		} finally {
+			lock.unlock();
+		}
+
+		if (metrics != null) {
+			metrics.onCreate(count);
+		}
+		return range;
+	}
+
+	private void lock() {
+		// only a contended lock is timed
+		if (lock.tryLock()) {
+			return;
+		}
+		final Object event = KsuidEvents.beginLockWait();
+		if (metrics == null) {
+			lock.lock();
+		} else {
+			final long start = System.nanoTime();
+			lock.lock();
+			metrics.onLockWait(System.nanoTime() - start);
+		}
+		KsuidEvents.endLockWait(event);
+	}
+
+	private Ksuid apply() {
+		if (millisecondFunction != null) {
+			final long millis = clock.millis();
+			final long seconds = Math.floorDiv(millis, 1000L);
+			final int nanos = (int) Math.floorMod(millis, 1000L) * 1_000_000;
+			return millisecondFunction.apply(seconds, nanos);
+		}
+		return ksuidFunction.apply(clock.instant());
+	}
+
+	private void applyAll(final Ksuid[] ksuids) {
+		if (millisecondFunction != null) {
+			final long millis = clock.millis();
+			final long seconds = Math.floorDiv(millis, 1000L);
+			final int nanos = (int) Math.floorMod(millis, 1000L) * 1_000_000;
+			millisecondFunction.applyAll(seconds, nanos, ksuids);
+			return;
+		}
+		final Instant instant = clock.instant();
+		ksuidFunction.applyAll(instant.getEpochSecond(), instant.getNano(), ksuids);
+	}
+
+	private KsuidRange reserveAll(final int count) {
+		// only monotonic functions override the default, which throws
+		if (millisecondFunction != null) {
+			final long millis = clock.millis();
+			final long seconds = Math.floorDiv(millis, 1000L);
+			final int nanos = (int) Math.floorMod(millis, 1000L) * 1_000_000;
+			return millisecondFunction.reserve(seconds, nanos, count);
+		}
+		final Instant instant = clock.instant();
+		return ksuidFunction.reserve(instant.getEpochSecond(), instant.getNano(), count);
 	}
 
 	// ******************************
 	// Package-private inner classes
 	// ******************************
 
+	/**
+	 * Function that creates KSUIDs from primitive time values.
+	 * <p>
+	 * The instant is only a wrapper of seconds and nanoseconds.
+	 */
+	static interface IFunction extends Function<Instant, Ksuid> {
+
+		/**
+		 * Creates a KSUID.
+		 * 
+		 * @param seconds the number of seconds since 1970-01-01
+		 * @param nanos   the nanoseconds within the second
+		 * @return a KSUID
+		 */
+		public Ksuid apply(long seconds, int nanos);
+
+		/**
+		 * Returns the time precision used by the function.
+		 * 
+		 * @return the precision
+		 */
+		public int getPrecision();
+
+		/**
+		 * Returns true if the function is thread safe without the factory lock.
+		 * 
+		 * @return true if concurrent
+		 */
+		public default boolean isConcurrent() {
+			return false;
+		}
+
+		/**
+		 * Creates many KSUIDs with the same time.
+		 * 
+		 * @param seconds the number of seconds since 1970-01-01
+		 * @param nanos   the nanoseconds within the second
+		 * @param ksuids  an array of KSUIDs (output)
+		 */
+		public default void applyAll(long seconds, int nanos, Ksuid[] ksuids) {
+			for (int i = 0; i < ksuids.length; i++) {
+				ksuids[i] = apply(seconds, nanos);
+			}
+		}
+
+		/**
+		 * Reserves a block of contiguous KSUIDs.
+		 * 
+		 * @param seconds the number of seconds since 1970-01-01
+		 * @param nanos   the nanoseconds within the second
+		 * @param count   the number of KSUIDs
+		 * @return a range of KSUIDs
+		 * @throws UnsupportedOperationException if the function is not monotonic
+		 */
+		public default KsuidRange reserve(long seconds, int nanos, int count) {
+			throw new UnsupportedOperationException("Not a monotonic factory");
+		}
+
+		@Override
+		public default Ksuid apply(final Instant instant) {
+			return apply(instant.getEpochSecond(), instant.getNano());
+		}
+	}
+
+	/**
+	 * Function that adapts a function of instants.
+	 */
+	static final class InstantFunction implements IFunction {
+
+		private final Function<Instant, Ksuid> function;
+
+		public InstantFunction(Function<Instant, Ksuid> function) {
+			this.function = function;
+		}
+
+		@Override
+		public Ksuid apply(final long seconds, final int nanos) {
+			return function.apply(Instant.ofEpochSecond(seconds, nanos));
+		}
+
+		@Override
+		public Ksuid apply(final Instant instant) {
+			return function.apply(instant);
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_NANOSECOND;
+		}
+	}
+
 	/**
 	 * Function that creates Segment's KSUIDs.
 	 */
-	static final class KsuidFunction implements Function<Instant, Ksuid> {
+	static final class KsuidFunction implements IFunction {
+
+		// number of payloads drawn at once
+		static final int BATCH_SIZE = 1 << 12;
 
 		private final IRandom random;
 
@@ -303,48 +845,306 @@ public final class KsuidFactory {
 		}
 
 		@Override
-		public Ksuid apply(final Instant instant) {
-			return new Ksuid(instant.getEpochSecond(), random.nextBytes(Ksuid.PAYLOAD_BYTES));
+		public Ksuid apply(final long seconds, final int nanos) {
+			return Ksuid.wrap(seconds, random.nextBytes(Ksuid.PAYLOAD_BYTES));
+		}
+
+		@Override
+		public void applyAll(final long seconds, final int nanos, final Ksuid[] ksuids) {
+			// draw the payloads of many KSUIDs at once
+			for (int i = 0; i < ksuids.length; i += BATCH_SIZE) {
+				final int length = Math.min(BATCH_SIZE, ksuids.length - i);
+				final byte[] bytes = random.nextBytes(length * Ksuid.PAYLOAD_BYTES);
+				for (int j = 0; j < length; j++) {
+					final long msb = ByteUtil.getLong(bytes, j * Ksuid.PAYLOAD_BYTES);
+					final long lsb = ByteUtil.getLong(bytes, j * Ksuid.PAYLOAD_BYTES + 8);
+					ksuids[i + j] = Ksuid.of(seconds, msb, lsb);
+				}
+			}
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_SECOND;
 		}
 	}
 
 	/**
 	 * Function that creates Monotonic KSUIDs.
+	 * <p>
+	 * The state is kept in primitive fields that are updated in place, so only
+	 * the returned KSUID is allocated.
 	 */
-	static final class MonotonicFunction implements Function<Instant, Ksuid> {
+	static final class MonotonicFunction implements IFunction {
+
+		// the last KSUID
+		private long lastTime;
+		private long msb;
+		private long lsb;
 
-		private Ksuid lastKsuid;
+		// the time of the last KSUID before any payload
+		// overflow, which is not a movement of the clock
+		private long lastClock = Long.MIN_VALUE;
 
 		private final IRandom random;
 
+		// null if the function is not measured
+		private final KsuidMetrics metrics;
+
 		// Used to preserve monotonicity when the system clock is
 		// adjusted by NTP after a small clock drift or when the
 		// system clock jumps back by 1 second due to leap second.
 		protected static final long CLOCK_DRIFT_TOLERANCE = 10;
 
+		// a time that forces a new payload on the first call
+		private static final long INITIAL_TIME = Ksuid.toUnixTime(Ksuid.toKsuidTime(0L));
+
 		protected MonotonicFunction(IRandom random) {
+			this(random, null);
+		}
+
+		protected MonotonicFunction(IRandom random, KsuidMetrics metrics) {
 			this.random = random;
+			this.metrics = metrics;
 			// initialize internal state
-			this.lastKsuid = new Ksuid(0L, random.nextBytes(Ksuid.PAYLOAD_BYTES));
+			this.lastTime = INITIAL_TIME;
+			this.nextPayload();
 		}
 
 		@Override
-		public Ksuid apply(final Instant instant) {
+		public Ksuid apply(final long seconds, final int nanos) {
+			advance(seconds);
+			return Ksuid.of(lastTime, msb, lsb);
+		}
 
-			final long time = instant.getEpochSecond();
-			final long lastTime = lastKsuid.getTime();
+		@Override
+		public KsuidRange reserve(final long seconds, final int nanos, final int count) {
+
+			advance(seconds);
+			final Ksuid first = Ksuid.of(lastTime, msb, lsb);
+
+			// skip to the last KSUID of the block
+			final long delta = count - 1;
+			final long lsb0 = lsb;
+			lsb += delta;
+			if (Long.compareUnsigned(lsb, lsb0) < 0 && ++msb == 0) {
+				// If the payload component overflows,
+				// increment the time component by 1.
+				KsuidEvents.payloadOverflow(lastTime);
+				lastTime = Ksuid.toUnixTime(Ksuid.toKsuidTime(lastTime + 1));
+			}
+
+			return new KsuidRange(first, count);
+		}
+
+		private void advance(final long seconds) {
+
+			final long time = seconds;
+
+			final long drift = time < lastClock ? lastClock - time : 0;
+			if (drift > 0) {
+				KsuidEvents.clockRegression(lastClock, time, time > lastTime - CLOCK_DRIFT_TOLERANCE);
+			}
 
 			// Check if the current time is the same as the previous time or has moved
 			// backwards after a small system clock adjustment or after a leap second.
 			// Drift tolerance = (previous_time - 10s) < current_time <= previous_time
 			if ((time > lastTime - CLOCK_DRIFT_TOLERANCE) && (time <= lastTime)) {
+				if (metrics != null) {
+					measure(drift);
+				}
 				// increment the previous payload
-				lastKsuid = lastKsuid.increment();
+				if (++lsb == 0 && ++msb == 0) {
+					// If the payload component overflows,
+					// increment the time component by 1.
+					KsuidEvents.payloadOverflow(lastTime);
+					lastTime = Ksuid.toUnixTime(Ksuid.toKsuidTime(lastTime + 1));
+				}
+			} else {
+				if (metrics != null) {
+					metrics.onReset();
+				}
+				lastTime = Ksuid.toUnixTime(Ksuid.toKsuidTime(time));
+				lastClock = lastTime;
+				nextPayload();
+			}
+		}
+
+		private void measure(final long drift) {
+			metrics.onIncrement();
+			if (drift > 0) {
+				metrics.onClockDrift(drift);
+			}
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_SECOND;
+		}
+
+		private void nextPayload() {
+			final byte[] payload = random.nextBytes(Ksuid.PAYLOAD_BYTES);
+			msb = ByteUtil.getLong(payload, 0);
+			lsb = ByteUtil.getLong(payload, 8);
+		}
+	}
+
+	/**
+	 * Function that creates Striped Monotonic KSUIDs.
+	 * <p>
+	 * Each stripe has its own lock and its own monotonic state. The most
+	 * significant bits of the payload contain the stripe index, and the other
+	 * bits are incremented like in {@link MonotonicFunction}.
+	 */
+	static final class StripedMonotonicFunction implements IFunction {
+
+		private final Stripe[] stripes;
+		private final IRandom random;
+
+		// the random generator may not be thread safe
+		private final ReentrantLock randomLock = new ReentrantLock();
+
+		static final int MAX_STRIPES = 256;
+
+		protected StripedMonotonicFunction(IRandom random, int stripes) {
+
+			if (stripes < 1 || stripes > MAX_STRIPES) {
+				throw new IllegalArgumentException("Invalid number of stripes: " + stripes);
+			}
+
+			// round up to a power of 2
+			final int length = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+			final int bits = Integer.numberOfTrailingZeros(length);
+
+			this.random = random;
+			this.stripes = new Stripe[length];
+			for (int i = 0; i < length; i++) {
+				this.stripes[i] = new Stripe(i, bits);
+			}
+		}
+
+		@Override
+		public Ksuid apply(final long seconds, final int nanos) {
+			final int index = (int) (Thread.currentThread().getId() & (stripes.length - 1));
+			return stripes[index].apply(seconds);
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_SECOND;
+		}
+
+		@Override
+		public boolean isConcurrent() {
+			return true;
+		}
+
+		int getStripes() {
+			return stripes.length;
+		}
+
+		private final class Stripe {
+
+			private final long mask; // stripe bits
+			private final long index; // stripe index in the stripe bits
+
+			private long time = 0;
+			private long msb;
+			private long lsb;
+
+			private final ReentrantLock lock = new ReentrantLock();
+
+			Stripe(int index, int bits) {
+				this.mask = bits == 0 ? 0L : -1L << (Long.SIZE - bits);
+				this.index = bits == 0 ? 0L : ((long) index) << (Long.SIZE - bits);
+			}
+
+			Ksuid apply(final long seconds) {
+				lock.lock();
+				try {
+					// same drift tolerance as the Monotonic function
+					if ((seconds > time - MonotonicFunction.CLOCK_DRIFT_TOLERANCE) && (seconds <= time)) {
+						// increment the bits below the stripe index
+						if (++lsb == 0) {
+							msb = ((msb + 1) & ~mask) | index;
+							if ((msb & ~mask) == 0) {
+								// increment the time on overflow
+								time++;
+							}
+						}
+					} else {
+						time = seconds;
+						randomLock.lock();
+						try {
+							msb = (random.nextLong() & ~mask) | index;
+							lsb = random.nextLong();
+						} finally {
+							randomLock.unlock();
+						}
+					}
+					return Ksuid.of(time, msb, lsb);
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Function that creates Node KSUIDs.
+	 * <p>
+	 * The first 64 bits of the payload contain the node identifier and the
+	 * counter. The last 64 bits are random.
+	 */
+	static final class NodeFunction implements IFunction {
+
+		private final long node; // node in the node bits
+		private final long counterMask;
+
+		private long time = 0;
+		private long counter;
+
+		private final IRandom random;
+
+		static final int DEFAULT_NODE_BITS = 16;
+		static final int MAX_NODE_BITS = 31; // a non-negative int
+
+		protected NodeFunction(IRandom random, int node, int nodeBits) {
+
+			if (nodeBits < 1 || nodeBits > MAX_NODE_BITS) {
+				throw new IllegalArgumentException("Invalid number of node bits: " + nodeBits);
+			}
+			if (node < 0 || node >= (1L << nodeBits)) {
+				throw new IllegalArgumentException("Invalid node identifier: " + node);
+			}
+
+			this.random = random;
+			this.node = ((long) node) << (Long.SIZE - nodeBits);
+			this.counterMask = -1L >>> nodeBits;
+		}
+
+		@Override
+		public Ksuid apply(final long seconds, final int nanos) {
+
+			// same drift tolerance as the Monotonic function
+			if ((seconds > time - MonotonicFunction.CLOCK_DRIFT_TOLERANCE) && (seconds <= time)) {
+				counter = (counter + 1) & counterMask;
+				if (counter == 0) {
+					// increment the time on overflow
+					time++;
+				}
 			} else {
-				lastKsuid = new Ksuid(time, random.nextBytes(Ksuid.PAYLOAD_BYTES));
+				time = seconds;
+				// start at the lower half to leave room for increments
+				counter = random.nextLong() & (counterMask >>> 1);
 			}
 
-			return new Ksuid(lastKsuid);
+			return Ksuid.of(time, node | counter, random.nextLong());
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_SECOND;
 		}
 	}
 
@@ -355,9 +1155,20 @@ public final class KsuidFactory {
 	 * @return a function that returns a byte array
 	 */
 	static Function<Instant, Ksuid> getSubsecondFunction(IRandom random) {
+		return getSubsecondFunction(random, null);
+	}
+
+	/**
+	 * Returns a payload function with SUB-SECOND precision.
+	 * 
+	 * @param random a random generator
+	 * @param clock  the clock used to detect the precision
+	 * @return a function that returns a byte array
+	 */
+	static Function<Instant, Ksuid> getSubsecondFunction(IRandom random, Clock clock) {
 
 		// try to detect the sub-second precision
-		final int precision = getSubsecondPrecision(Clock.systemUTC());
+		final int precision = getSubsecondPrecision(clock != null ? clock : Clock.systemUTC());
 
 		switch (precision) {
 		case PRECISION_MILLISECOND:
@@ -374,7 +1185,7 @@ public final class KsuidFactory {
 	/**
 	 * Function that creates Sub-second KSUIDs with MILLISECOND precision.
 	 */
-	static final class MillisecondFunction implements Function<Instant, Ksuid> {
+	static final class MillisecondFunction implements IFunction {
 
 		private final IRandom random;
 
@@ -383,25 +1194,30 @@ public final class KsuidFactory {
 		}
 
 		@Override
-		public Ksuid apply(final Instant instant) {
+		public Ksuid apply(final long seconds, final int nanos) {
 
 			// fill the payload with random bytes
 			final byte[] payload = random.nextBytes(Ksuid.PAYLOAD_BYTES);
 
 			// insert milliseconds into the payload
-			final int milliseconds = instant.getNano() / 1000000;
+			final int milliseconds = nanos / 1000000;
 			final int subsecs = (milliseconds << 6) | (payload[1] & 0b00111111);
 			payload[0] = (byte) ((subsecs >>> 0x08) & 0xff);
 			payload[1] = (byte) ((subsecs >>> 0x00) & 0xff);
 
-			return new Ksuid(instant.getEpochSecond(), payload);
+			return Ksuid.wrap(seconds, payload);
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_MILLISECOND;
 		}
 	}
 
 	/**
 	 * Function that creates Sub-second KSUIDs with MICROSECOND precision.
 	 */
-	static final class MicrosecondFunction implements Function<Instant, Ksuid> {
+	static final class MicrosecondFunction implements IFunction {
 
 		private final IRandom random;
 
@@ -410,26 +1226,31 @@ public final class KsuidFactory {
 		}
 
 		@Override
-		public Ksuid apply(final Instant instant) {
+		public Ksuid apply(final long seconds, final int nanos) {
 
 			// fill the payload with random bytes
 			final byte[] payload = random.nextBytes(Ksuid.PAYLOAD_BYTES);
 
 			// insert microseconds into the payload
-			final int microseconds = instant.getNano() / 1000;
+			final int microseconds = nanos / 1000;
 			final int subsecs = (microseconds << 4) | (payload[2] & 0b00001111);
 			payload[0] = (byte) ((subsecs >>> 0x10) & 0xff);
 			payload[1] = (byte) ((subsecs >>> 0x08) & 0xff);
 			payload[2] = (byte) ((subsecs >>> 0x00) & 0xff);
 
-			return new Ksuid(instant.getEpochSecond(), payload);
+			return Ksuid.wrap(seconds, payload);
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_MICROSECOND;
 		}
 	}
 
 	/**
 	 * Function that creates Sub-second KSUIDs with NANOSECOND precision.
 	 */
-	static final class NanosecondFunction implements Function<Instant, Ksuid> {
+	static final class NanosecondFunction implements IFunction {
 
 		private final IRandom random;
 
@@ -438,20 +1259,92 @@ public final class KsuidFactory {
 		}
 
 		@Override
-		public Ksuid apply(final Instant instant) {
+		public Ksuid apply(final long seconds, final int nanos) {
 
 			// fill the payload with random bytes
 			final byte[] payload = random.nextBytes(Ksuid.PAYLOAD_BYTES);
 
 			// insert nanoseconds into the payload
-			final int nanoseconds = instant.getNano();
+			final int nanoseconds = nanos;
 			final int subsecs = (nanoseconds << 2) | (payload[3] & 0b00000011);
 			payload[0] = (byte) ((subsecs >>> 0x18) & 0xff);
 			payload[1] = (byte) ((subsecs >>> 0x10) & 0xff);
 			payload[2] = (byte) ((subsecs >>> 0x08) & 0xff);
 			payload[3] = (byte) ((subsecs >>> 0x00) & 0xff);
 
-			return new Ksuid(instant.getEpochSecond(), payload);
+			return Ksuid.wrap(seconds, payload);
+		}
+
+		@Override
+		public int getPrecision() {
+			return PRECISION_NANOSECOND;
+		}
+	}
+
+	/**
+	 * Spliterator that creates Segment's KSUIDs.
+	 * <p>
+	 * It splits like the spliterators of {@link SplittableRandom}: each half
+	 * gets its own generator.
+	 */
+	static final class KsuidSpliterator implements Spliterator<Ksuid> {
+
+		private final SplittableRandom random;
+		private final Clock clock;
+		private long index;
+		private final long fence;
+
+		KsuidSpliterator(SplittableRandom random, Clock clock, long index, long fence) {
+			this.random = random;
+			this.clock = clock;
+			this.index = index;
+			this.fence = fence;
+		}
+
+		@Override
+		public KsuidSpliterator trySplit() {
+			final long i = index;
+			final long m = (i + fence) >>> 1;
+			return (m <= i) ? null : new KsuidSpliterator(random.split(), clock, i, index = m);
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Ksuid> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			if (index < fence) {
+				action.accept(next());
+				index++;
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Ksuid> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			for (long i = index; i < fence; i++) {
+				action.accept(next());
+			}
+			index = fence;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+		}
+
+		private Ksuid next() {
+			final long seconds = Math.floorDiv(clock.millis(), 1000L);
+			return Ksuid.of(seconds, random.nextLong(), random.nextLong());
 		}
 	}
 
@@ -523,6 +1416,37 @@ public final class KsuidFactory {
 		static IRandom newInstance(IntFunction<byte[]> randomFunction) {
 			return new ByteRandom(randomFunction);
 		}
+
+		static IRandom newInstance(IRandom random, KsuidMetrics metrics) {
+			return metrics != null ? new MeteredRandom(random, metrics) : random;
+		}
+	}
+
+	static final class MeteredRandom implements IRandom {
+
+		private final IRandom random;
+		private final KsuidMetrics metrics;
+
+		public MeteredRandom(IRandom random, KsuidMetrics metrics) {
+			this.random = random;
+			this.metrics = metrics;
+		}
+
+		@Override
+		public long nextLong() {
+			final long start = System.nanoTime();
+			final long number = random.nextLong();
+			metrics.onRandom(Long.BYTES, System.nanoTime() - start);
+			return number;
+		}
+
+		@Override
+		public byte[] nextBytes(int length) {
+			final long start = System.nanoTime();
+			final byte[] bytes = random.nextBytes(length);
+			metrics.onRandom(length, System.nanoTime() - start);
+			return bytes;
+		}
 	}
 
 	static class LongRandom implements IRandom {
@@ -543,7 +1467,10 @@ public final class KsuidFactory {
 
 		@Override
 		public long nextLong() {
-			return randomFunction.getAsLong();
+			final Object event = KsuidEvents.beginRandom();
+			final long number = randomFunction.getAsLong();
+			KsuidEvents.endRandom(event, Long.BYTES);
+			return number;
 		}
 
 		@Override
@@ -553,6 +1480,7 @@ public final class KsuidFactory {
 			long random = 0;
 			final byte[] bytes = new byte[length];
 
+			final Object event = KsuidEvents.beginRandom();
 			for (int i = 0; i < length; i++) {
 				if (shift < Byte.SIZE) {
 					shift = Long.SIZE;
@@ -561,6 +1489,7 @@ public final class KsuidFactory {
 				shift -= Byte.SIZE; // 56, 48, 40...
 				bytes[i] = (byte) (random >>> shift);
 			}
+			KsuidEvents.endRandom(event, length);
 
 			return bytes;
 		}
@@ -575,22 +1504,32 @@ public final class KsuidFactory {
 
 		private final IntFunction<byte[]> randomFunction;
 
+		// true if the arrays may be reused by the random function
+		private final boolean copy;
+
 		public ByteRandom() {
-			this(newRandomFunction(null));
+			this(newRandomFunction(null), false);
 		}
 
 		public ByteRandom(Random random) {
-			this(newRandomFunction(random));
+			this(newRandomFunction(random), false);
 		}
 
 		public ByteRandom(IntFunction<byte[]> randomFunction) {
-			this.randomFunction = randomFunction != null ? randomFunction : newRandomFunction(null);
+			this(randomFunction != null ? randomFunction : newRandomFunction(null), randomFunction != null);
+		}
+
+		private ByteRandom(IntFunction<byte[]> randomFunction, boolean copy) {
+			this.randomFunction = randomFunction;
+			this.copy = copy;
 		}
 
 		@Override
 		public long nextLong() {
 			long number = 0;
+			final Object event = KsuidEvents.beginRandom();
 			byte[] bytes = this.randomFunction.apply(Long.BYTES);
+			KsuidEvents.endRandom(event, Long.BYTES);
 			for (int i = 0; i < Long.BYTES; i++) {
 				number = (number << 8) | (bytes[i] & 0xff);
 			}
@@ -599,7 +1538,10 @@ public final class KsuidFactory {
 
 		@Override
 		public byte[] nextBytes(int length) {
-			return this.randomFunction.apply(length);
+			final Object event = KsuidEvents.beginRandom();
+			final byte[] bytes = this.randomFunction.apply(length);
+			KsuidEvents.endRandom(event, length);
+			return copy ? bytes.clone() : bytes;
 		}
 
 		protected static IntFunction<byte[]> newRandomFunction(Random random) {
@@ -0,0 +1,352 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A class that indexes KSUIDs by time for range queries.
+ * <p>
+ * The KSUIDs are kept sorted in a packed byte array, 20 bytes each, and a
+ * directory keeps the position of the first KSUID of each bucket of seconds,
+ * from the oldest KSUID to the newest. Finding the start of a time range
+ * takes one directory lookup, and iterating over a range reads the packed
+ * bytes directly, without creating objects.
+ * <p>
+ * The directory has one entry per bucket between the oldest and the newest
+ * KSUIDs, so a wider bucket should be used if the KSUIDs are spread over a
+ * long period. The default width is one second, in which case no search is
+ * needed within a bucket.
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ * 
+ * @since 4.2.0
+ */
+public final class KsuidIndex {
+
+	private final byte[] bytes;
+	private final int[] directory;
+	private final int size;
+	private final long first;
+	private final long last;
+	private final long width;
+
+	private static final int MAX_DIRECTORY_LENGTH = Integer.MAX_VALUE - 8;
+
+	private KsuidIndex(byte[] bytes, long width) {
+
+		this.bytes = bytes;
+		this.width = Math.min(width, 1L << 32); // wider is the same
+		this.size = bytes.length / Ksuid.KSUID_BYTES;
+
+		if (size == 0) {
+			this.first = 0;
+			this.last = -1;
+			this.directory = new int[0];
+			return;
+		}
+
+		this.first = time(0);
+		this.last = time(size - 1);
+
+		final long length = ((last - first) / width) + 2;
+		if (length > MAX_DIRECTORY_LENGTH) {
+			throw new IllegalArgumentException("Time range too long for the bucket width");
+		}
+
+		// position of the first KSUID of each bucket
+		this.directory = new int[(int) length];
+		int position = 0;
+		for (int i = 0; i < directory.length; i++) {
+			final long start = first + (i * width);
+			while (position < size && time(position) < start) {
+				position++;
+			}
+			directory[i] = position;
+		}
+	}
+
+	/**
+	 * Returns a new index of a collection of KSUIDs.
+	 * 
+	 * @param ksuids a collection of KSUIDs
+	 * @return {@link KsuidIndex}
+	 * @throws IllegalArgumentException if the time range is too long
+	 */
+	public static KsuidIndex newInstance(Collection<Ksuid> ksuids) {
+		return newInstance(ksuids.toArray(new Ksuid[0]));
+	}
+
+	/**
+	 * Returns a new index of a collection of KSUIDs.
+	 * 
+	 * @param ksuids a collection of KSUIDs
+	 * @param width  a bucket width with a whole number of seconds, at least one
+	 * @return {@link KsuidIndex}
+	 * @throws IllegalArgumentException if the width is invalid or if the time
+	 *                                  range is too long for the width
+	 */
+	public static KsuidIndex newInstance(Collection<Ksuid> ksuids, Duration width) {
+		return newInstance(ksuids.toArray(new Ksuid[0]), width);
+	}
+
+	/**
+	 * Returns a new index of an array of KSUIDs.
+	 * <p>
+	 * The array is not modified.
+	 * 
+	 * @param ksuids an array of KSUIDs
+	 * @return {@link KsuidIndex}
+	 * @throws IllegalArgumentException if the time range is too long
+	 */
+	public static KsuidIndex newInstance(Ksuid[] ksuids) {
+		return newInstance(ksuids, Duration.ofSeconds(1));
+	}
+
+	/**
+	 * Returns a new index of an array of KSUIDs.
+	 * <p>
+	 * The array is not modified.
+	 * 
+	 * @param ksuids an array of KSUIDs
+	 * @param width  a bucket width with a whole number of seconds, at least one
+	 * @return {@link KsuidIndex}
+	 * @throws IllegalArgumentException if the width is invalid or if the time
+	 *                                  range is too long for the width
+	 */
+	public static KsuidIndex newInstance(Ksuid[] ksuids, Duration width) {
+		final long seconds = validate(width);
+		final Ksuid[] sorted = ksuids.clone();
+		Arrays.parallelSort(sorted);
+		final byte[] bytes = new byte[sorted.length * Ksuid.KSUID_BYTES];
+		KsuidCodec.encodeAll(sorted, bytes);
+		return new KsuidIndex(bytes, seconds);
+	}
+
+	/**
+	 * Returns a new index of KSUIDs in packed byte format.
+	 * <p>
+	 * The array is copied, and the copy is sorted only if needed.
+	 * 
+	 * @param bytes an array of 20 bytes per KSUID
+	 * @return {@link KsuidIndex}
+	 * @throws IllegalArgumentException if the byte array length is not a
+	 *                                  multiple of 20 or if the time range is too
+	 *                                  long
+	 */
+	public static KsuidIndex newInstance(byte[] bytes) {
+		return newInstance(bytes, Duration.ofSeconds(1));
+	}
+
+	/**
+	 * Returns a new index of KSUIDs in packed byte format.
+	 * <p>
+	 * The array is copied, and the copy is sorted only if needed.
+	 * 
+	 * @param bytes an array of 20 bytes per KSUID
+	 * @param width a bucket width with a whole number of seconds, at least one
+	 * @return {@link KsuidIndex}
+	 * @throws IllegalArgumentException if the byte array length is not a
+	 *                                  multiple of 20, if the width is invalid or
+	 *                                  if the time range is too long for the
+	 *                                  width
+	 */
+	public static KsuidIndex newInstance(byte[] bytes, Duration width) {
+
+		final long seconds = validate(width);
+		if (bytes == null || bytes.length % Ksuid.KSUID_BYTES != 0) {
+			throw new IllegalArgumentException("Invalid byte array length or null");
+		}
+
+		if (isSorted(bytes)) {
+			return new KsuidIndex(bytes.clone(), seconds);
+		}
+
+		final Ksuid[] ksuids = new Ksuid[bytes.length / Ksuid.KSUID_BYTES];
+		KsuidCodec.decodeAll(bytes, ksuids);
+		return newInstance(ksuids, width);
+	}
+
+	/**
+	 * Returns the number of KSUIDs in the index.
+	 * 
+	 * @return the number of KSUIDs
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the KSUID at a given position.
+	 * 
+	 * @param index a position in the index
+	 * @return a KSUID
+	 * @throws IndexOutOfBoundsException if the position is out of range
+	 */
+	public Ksuid get(final int index) {
+		checkIndex(index);
+		return new Ksuid(this.bytes, index * Ksuid.KSUID_BYTES);
+	}
+
+	/**
+	 * Copies the KSUID at a given position into a mutable KSUID.
+	 * 
+	 * @param index a position in the index
+	 * @param ksuid a mutable KSUID (output)
+	 * @return the mutable KSUID
+	 * @throws IndexOutOfBoundsException if the position is out of range
+	 */
+	public MutableKsuid get(final int index, final MutableKsuid ksuid) {
+		checkIndex(index);
+		return ksuid.set(this.bytes, index * Ksuid.KSUID_BYTES);
+	}
+
+	/**
+	 * Returns the position of the first KSUID created at or after an instant.
+	 * <p>
+	 * If there is no such KSUID, the size of the index is returned.
+	 * 
+	 * @param instant an instant
+	 * @return a position in the index
+	 */
+	public int indexOf(final Instant instant) {
+
+		// KSUIDs have a precision of seconds
+		long seconds = instant.getEpochSecond();
+		if (instant.getNano() != 0) {
+			seconds++;
+		}
+
+		final long time = seconds - Ksuid.EPOCH_OFFSET;
+		if (time <= this.first) {
+			return 0;
+		}
+		if (time > this.last) {
+			return this.size;
+		}
+
+		final int bucket = (int) ((time - this.first) / this.width);
+		int low = this.directory[bucket];
+		int high = this.directory[bucket + 1];
+		if (this.width == 1) {
+			return low; // the bucket starts at the time
+		}
+
+		// search within the bucket
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (time(middle) < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the number of KSUIDs created in a time range.
+	 * 
+	 * @param from the start of the range (inclusive)
+	 * @param to   the end of the range (exclusive)
+	 * @return the number of KSUIDs
+	 */
+	public int count(final Instant from, final Instant to) {
+		return Math.max(indexOf(to) - indexOf(from), 0);
+	}
+
+	/**
+	 * Performs an action for each KSUID created in a time range, in order.
+	 * <p>
+	 * The same mutable KSUID is passed to every call, so it must be copied if
+	 * it is kept after the call.
+	 * 
+	 * @param from   the start of the range (inclusive)
+	 * @param to     the end of the range (exclusive)
+	 * @param action an action
+	 */
+	public void forEach(final Instant from, final Instant to, final Consumer<MutableKsuid> action) {
+		final int start = indexOf(from);
+		final int end = indexOf(to);
+		final MutableKsuid ksuid = new MutableKsuid();
+		for (int i = start; i < end; i++) {
+			action.accept(ksuid.set(this.bytes, i * Ksuid.KSUID_BYTES));
+		}
+	}
+
+	/**
+	 * Returns a stream of the KSUIDs created in a time range, in order.
+	 * 
+	 * @param from the start of the range (inclusive)
+	 * @param to   the end of the range (exclusive)
+	 * @return a stream of KSUIDs
+	 */
+	public Stream<Ksuid> stream(final Instant from, final Instant to) {
+		final int start = indexOf(from);
+		final int end = Math.max(indexOf(to), start);
+		return IntStream.range(start, end).mapToObj(i -> new Ksuid(this.bytes, i * Ksuid.KSUID_BYTES));
+	}
+
+	/**
+	 * Returns the KSUIDs of the index in packed byte format, in order.
+	 * 
+	 * @return an array of 20 bytes per KSUID
+	 */
+	public byte[] toBytes() {
+		return this.bytes.clone();
+	}
+
+	private long time(final int index) {
+		return ByteUtil.getInt(this.bytes, index * Ksuid.KSUID_BYTES) & Ksuid.INTEGER_MASK;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+		}
+	}
+
+	private static long validate(final Duration width) {
+		if (width == null || width.getSeconds() < 1 || width.getNano() != 0) {
+			throw new IllegalArgumentException("Invalid bucket width: " + width);
+		}
+		return width.getSeconds();
+	}
+
+	private static boolean isSorted(final byte[] bytes) {
+		for (int i = Ksuid.KSUID_BYTES; i < bytes.length; i += Ksuid.KSUID_BYTES) {
+			if (Ksuid.compare(bytes, i - Ksuid.KSUID_BYTES, bytes, i) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
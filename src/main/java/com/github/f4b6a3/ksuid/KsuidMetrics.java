@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+/**
+ * An interface that receives measurements from a {@link KsuidFactory}.
+ * <p>
+ * It can be implemented to bridge the measurements to a metrics library, such
+ * as Micrometer. {@link KsuidCounters} is an implementation that simply
+ * accumulates them.
+ * <p>
+ * The methods are called by the threads that generate KSUIDs, sometimes while
+ * holding the factory lock, so they must be thread safe and fast. All methods
+ * do nothing by default.
+ * <p>
+ * A factory created without metrics doesn't measure anything, so it doesn't
+ * pay for the clock reads needed for timing.
+ * 
+ * @since 4.2.0
+ */
+public interface KsuidMetrics {
+
+	/**
+	 * Called when KSUIDs are generated.
+	 * 
+	 * @param count the number of KSUIDs
+	 */
+	public default void onCreate(int count) {
+	}
+
+	/**
+	 * Called when a thread had to wait for the factory lock.
+	 * <p>
+	 * It is not called when the lock is acquired without waiting.
+	 * 
+	 * @param nanos the waiting time in nanoseconds
+	 */
+	public default void onLockWait(long nanos) {
+	}
+
+	/**
+	 * Called when random bytes are read from the random generator.
+	 * 
+	 * @param bytes the number of bytes
+	 * @param nanos the reading time in nanoseconds
+	 */
+	public default void onRandom(int bytes, long nanos) {
+	}
+
+	/**
+	 * Called when a Monotonic KSUID is created by incrementing the previous
+	 * payload.
+	 */
+	public default void onIncrement() {
+	}
+
+	/**
+	 * Called when a Monotonic KSUID is created with a new random payload.
+	 */
+	public default void onReset() {
+	}
+
+	/**
+	 * Called when the clock is behind the time of the previous Monotonic KSUID
+	 * by less than the drift tolerance, and the previous time is kept.
+	 * 
+	 * @param seconds how many seconds the clock is behind
+	 */
+	public default void onClockDrift(long seconds) {
+	}
+}
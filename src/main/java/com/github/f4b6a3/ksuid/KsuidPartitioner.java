@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+/**
+ * A class that maps KSUIDs to partitions.
+ * <p>
+ * The partition is computed from the least significant 64 bits of the
+ * payload. These bits are random in all the KSUID types created by
+ * {@link KsuidFactory}, even in sub-second KSUIDs, whose most significant
+ * payload bits are part of the time. They are mixed before use, so that
+ * consecutive monotonic KSUIDs are spread too.
+ * <p>
+ * Two strategies are available:
+ * <ul>
+ * <li><b>Modulo</b>: the fastest. Almost all keys move when the number of
+ * partitions changes.
+ * <li><b>Consistent</b>: uses the jump consistent hash. Only 1/n of the keys
+ * move when the number of partitions grows to n.
+ * </ul>
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ * 
+ * @see <a href="https://arxiv.org/abs/1406.2294">A Fast, Minimal Memory,
+ *      Consistent Hash Algorithm</a>
+ * @since 4.2.0
+ */
+public final class KsuidPartitioner {
+
+	private final int partitions;
+	private final boolean consistent;
+
+	private KsuidPartitioner(int partitions, boolean consistent) {
+		if (partitions < 1) {
+			throw new IllegalArgumentException("Invalid number of partitions: " + partitions);
+		}
+		this.partitions = partitions;
+		this.consistent = consistent;
+	}
+
+	/**
+	 * Returns a new partitioner that maps the hash to a partition by range
+	 * reduction.
+	 * 
+	 * @param partitions the number of partitions, greater than zero
+	 * @return {@link KsuidPartitioner}
+	 * @throws IllegalArgumentException if the number of partitions is invalid
+	 */
+	public static KsuidPartitioner newInstance(int partitions) {
+		return new KsuidPartitioner(partitions, false);
+	}
+
+	/**
+	 * Returns a new partitioner that uses the jump consistent hash.
+	 * 
+	 * @param partitions the number of partitions, greater than zero
+	 * @return {@link KsuidPartitioner}
+	 * @throws IllegalArgumentException if the number of partitions is invalid
+	 */
+	public static KsuidPartitioner newConsistentInstance(int partitions) {
+		return new KsuidPartitioner(partitions, true);
+	}
+
+	/**
+	 * Returns the number of partitions.
+	 * 
+	 * @return the number of partitions
+	 */
+	public int getPartitions() {
+		return this.partitions;
+	}
+
+	/**
+	 * Returns the partition of a KSUID.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return a number from zero to the number of partitions minus one
+	 */
+	public int partition(final Ksuid ksuid) {
+		return partition(ksuid.getLeastSignificantBits());
+	}
+
+	/**
+	 * Returns the partition of a KSUID in binary format.
+	 * 
+	 * @param bytes a byte array with 20 bytes
+	 * @return a number from zero to the number of partitions minus one
+	 * @throws IllegalArgumentException if the byte array is invalid
+	 */
+	public int partition(final byte[] bytes) {
+		if (bytes == null || bytes.length != Ksuid.KSUID_BYTES) {
+			throw new IllegalArgumentException("Invalid byte array length or null");
+		}
+		return partition(bytes, 0);
+	}
+
+	/**
+	 * Returns the partition of a KSUID in binary format.
+	 * 
+	 * @param bytes  a byte array
+	 * @param offset the position of the KSUID in the array
+	 * @return a number from zero to the number of partitions minus one
+	 * @throws IndexOutOfBoundsException if the 20 bytes are out of the array
+	 */
+	public int partition(final byte[] bytes, final int offset) {
+		if (offset < 0 || offset > bytes.length - Ksuid.KSUID_BYTES) {
+			throw new IndexOutOfBoundsException("Invalid offset");
+		}
+		return partition(ByteUtil.getLong(bytes, offset + Ksuid.KSUID_BYTES - Long.BYTES));
+	}
+
+	/**
+	 * Returns the partition of a KSUID in canonical string format.
+	 * 
+	 * @param string a canonical string
+	 * @return a number from zero to the number of partitions minus one
+	 * @throws IllegalArgumentException if the string is invalid
+	 */
+	public int partition(final String string) {
+		Ksuid.validate(string);
+		final int[] number = new int[Ksuid.KSUID_INTS];
+		Ksuid.decode(string, number);
+		return partition(((number[3] & 0xffffffffL) << 32) | (number[4] & 0xffffffffL));
+	}
+
+	private int partition(final long bits) {
+		final long hash = mix(bits);
+		if (consistent) {
+			return jump(hash, partitions);
+		}
+		// range reduction: (hash * n) / 2^32
+		return (int) (((hash >>> 32) * partitions) >>> 32);
+	}
+
+	/**
+	 * The finalizer of SplitMix64.
+	 */
+	static long mix(long x) {
+		x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+		x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+		return x ^ (x >>> 31);
+	}
+
+	/**
+	 * The jump consistent hash of Lamping and Veach.
+	 */
+	static int jump(long key, final int buckets) {
+		long b = -1;
+		long j = 0;
+		while (j < buckets) {
+			b = j;
+			key = key * 2862933555777941757L + 1;
+			j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+		}
+		return (int) b;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A block of contiguous KSUIDs.
+ * <p>
+ * Only the first KSUID and the size of the block are stored. The other KSUIDs
+ * are computed on demand by incrementing the first one.
+ * 
+ * @see KsuidFactory#reserve(int)
+ * @since 4.2.0
+ */
+public final class KsuidRange implements Iterable<Ksuid> {
+
+	private final Ksuid first;
+	private final int size;
+
+	KsuidRange(Ksuid first, int size) {
+		this.first = first;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the number of KSUIDs in the range.
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the first KSUID of the range.
+	 * 
+	 * @return a KSUID
+	 */
+	public Ksuid getFirst() {
+		return this.first;
+	}
+
+	/**
+	 * Returns the last KSUID of the range.
+	 * 
+	 * @return a KSUID
+	 */
+	public Ksuid getLast() {
+		return this.first.increment(this.size - 1);
+	}
+
+	/**
+	 * Returns the KSUID at a position of the range.
+	 * 
+	 * @param index a position from zero to size minus one
+	 * @return a KSUID
+	 * @throws IndexOutOfBoundsException if the index is out of the range
+	 */
+	public Ksuid get(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		return this.first.increment(index);
+	}
+
+	/**
+	 * Returns all the KSUIDs of the range in an array.
+	 * 
+	 * @return an array of KSUIDs
+	 */
+	public Ksuid[] toArray() {
+		final Ksuid[] ksuids = new Ksuid[this.size];
+		Ksuid ksuid = this.first;
+		ksuids[0] = ksuid;
+		for (int i = 1; i < this.size; i++) {
+			ksuid = ksuid.increment();
+			ksuids[i] = ksuid;
+		}
+		return ksuids;
+	}
+
+	/**
+	 * Returns an iterator over the KSUIDs of the range, in ascending order.
+	 * 
+	 * @return an iterator
+	 */
+	@Override
+	public Iterator<Ksuid> iterator() {
+		return new Iterator<Ksuid>() {
+
+			private Ksuid next = first;
+			private int remaining = size;
+
+			@Override
+			public boolean hasNext() {
+				return remaining > 0;
+			}
+
+			@Override
+			public Ksuid next() {
+				if (remaining <= 0) {
+					throw new NoSuchElementException();
+				}
+				final Ksuid ksuid = next;
+				if (--remaining > 0) {
+					next = ksuid.increment();
+				}
+				return ksuid;
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return "[" + this.first + ".." + this.getLast() + "]";
+	}
+}
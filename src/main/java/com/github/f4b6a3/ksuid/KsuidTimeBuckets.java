@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A class that groups KSUIDs into time buckets.
+ * <p>
+ * A bucket is a time interval with a fixed width, for example, one hour or
+ * one day. Buckets are aligned to the Unix epoch, so daily buckets start at
+ * midnight UTC. The bucket of a KSUID is the number of widths since the Unix
+ * epoch, and is computed from the time component only.
+ * <p>
+ * The smallest and the largest KSUIDs of a bucket can be used as the bounds of
+ * range queries.
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ * 
+ * @since 4.2.0
+ */
+public final class KsuidTimeBuckets {
+
+	private final long width;
+
+	// the time range of KSUIDs
+	private static final long MIN_TIME = Ksuid.EPOCH_OFFSET;
+	private static final long MAX_TIME = Ksuid.EPOCH_OFFSET + 0xffffffffL;
+
+	private KsuidTimeBuckets(long width) {
+		this.width = width;
+	}
+
+	/**
+	 * Returns a new instance with buckets of a given width.
+	 * 
+	 * @param width a duration with a whole number of seconds, at least one
+	 * @return {@link KsuidTimeBuckets}
+	 * @throws IllegalArgumentException if the width is invalid
+	 */
+	public static KsuidTimeBuckets newInstance(Duration width) {
+		if (width == null || width.getSeconds() < 1 || width.getNano() != 0) {
+			throw new IllegalArgumentException("Invalid bucket width: " + width);
+		}
+		return new KsuidTimeBuckets(width.getSeconds());
+	}
+
+	/**
+	 * Returns a new instance with buckets of one hour.
+	 * 
+	 * @return {@link KsuidTimeBuckets}
+	 */
+	public static KsuidTimeBuckets newHourlyInstance() {
+		return newInstance(Duration.ofHours(1));
+	}
+
+	/**
+	 * Returns a new instance with buckets of one day.
+	 * 
+	 * @return {@link KsuidTimeBuckets}
+	 */
+	public static KsuidTimeBuckets newDailyInstance() {
+		return newInstance(Duration.ofDays(1));
+	}
+
+	/**
+	 * Returns the width of the buckets.
+	 * 
+	 * @return a duration
+	 */
+	public Duration getWidth() {
+		return Duration.ofSeconds(this.width);
+	}
+
+	/**
+	 * Returns the bucket of a KSUID.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return the bucket number
+	 */
+	public long getBucket(final Ksuid ksuid) {
+		return getBucketOfTime(ksuid.getTime());
+	}
+
+	/**
+	 * Returns the bucket of a KSUID in binary format.
+	 * <p>
+	 * Only the first 4 bytes are read.
+	 * 
+	 * @param bytes a byte array with 20 bytes
+	 * @return the bucket number
+	 * @throws IllegalArgumentException if the byte array is invalid
+	 */
+	public long getBucket(final byte[] bytes) {
+		if (bytes == null || bytes.length != Ksuid.KSUID_BYTES) {
+			throw new IllegalArgumentException("Invalid byte array length or null");
+		}
+		return getBucket(bytes, 0);
+	}
+
+	/**
+	 * Returns the bucket of a KSUID in binary format.
+	 * <p>
+	 * Only the first 4 bytes are read.
+	 * 
+	 * @param bytes  a byte array
+	 * @param offset the position of the KSUID in the array
+	 * @return the bucket number
+	 * @throws IndexOutOfBoundsException if the 20 bytes are out of the array
+	 */
+	public long getBucket(final byte[] bytes, final int offset) {
+		if (offset < 0 || offset > bytes.length - Ksuid.KSUID_BYTES) {
+			throw new IndexOutOfBoundsException("Invalid offset");
+		}
+		return getBucketOfTime(Ksuid.toUnixTime(ByteUtil.getInt(bytes, offset)));
+	}
+
+	/**
+	 * Returns the bucket of a KSUID in canonical string format.
+	 * 
+	 * @param string a canonical string
+	 * @return the bucket number
+	 * @throws IllegalArgumentException if the string is invalid
+	 * @see Ksuid#getTime(String)
+	 */
+	public long getBucket(final String string) {
+		return getBucketOfTime(Ksuid.getTime(string));
+	}
+
+	/**
+	 * Returns the bucket of an instant.
+	 * 
+	 * @param instant an instant
+	 * @return the bucket number
+	 */
+	public long getBucket(final Instant instant) {
+		return getBucketOfTime(instant.getEpochSecond());
+	}
+
+	/**
+	 * Returns the start of a bucket, inclusive.
+	 * 
+	 * @param bucket a bucket number
+	 * @return an instant
+	 */
+	public Instant getStart(final long bucket) {
+		return Instant.ofEpochSecond(Math.multiplyExact(bucket, width));
+	}
+
+	/**
+	 * Returns the end of a bucket, exclusive.
+	 * 
+	 * @param bucket a bucket number
+	 * @return an instant
+	 */
+	public Instant getEnd(final long bucket) {
+		return Instant.ofEpochSecond(Math.multiplyExact(Math.addExact(bucket, 1), width));
+	}
+
+	/**
+	 * Returns the smallest KSUID of a bucket.
+	 * <p>
+	 * Its payload has all bits set to zero. If the bucket starts before the
+	 * minimum KSUID time, the time of the minimum KSUID is used.
+	 * 
+	 * @param bucket a bucket number
+	 * @return a KSUID
+	 * @throws IllegalArgumentException if the bucket is out of the KSUID time
+	 *                                  range
+	 */
+	public Ksuid getMin(final long bucket) {
+		checkBucket(bucket);
+		final long start = Math.max(bucket * width, MIN_TIME);
+		return Ksuid.of(start, 0L, 0L);
+	}
+
+	/**
+	 * Returns the largest KSUID of a bucket.
+	 * <p>
+	 * Its payload has all bits set to one. If the bucket ends after the maximum
+	 * KSUID time, the time of the maximum KSUID is used.
+	 * 
+	 * @param bucket a bucket number
+	 * @return a KSUID
+	 * @throws IllegalArgumentException if the bucket is out of the KSUID time
+	 *                                  range
+	 */
+	public Ksuid getMax(final long bucket) {
+		checkBucket(bucket);
+		final long end = Math.min((bucket + 1) * width - 1, MAX_TIME);
+		return Ksuid.of(end, -1L, -1L);
+	}
+
+	private long getBucketOfTime(final long time) {
+		return Math.floorDiv(time, width);
+	}
+
+	private void checkBucket(final long bucket) {
+		if (bucket < getBucketOfTime(MIN_TIME) || bucket > getBucketOfTime(MAX_TIME)) {
+			throw new IllegalArgumentException("Bucket out of the KSUID time range: " + bucket);
+		}
+	}
+}
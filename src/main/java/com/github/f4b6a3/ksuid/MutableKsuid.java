@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import java.time.Instant;
+
+/**
+ * A mutable holder of a KSUID.
+ * <p>
+ * It can be refilled from bytes, strings or KSUIDs over and over again, and
+ * has the same read accessors and comparison as {@link Ksuid}. It is useful in
+ * hot loops that read a KSUID, compare it and discard it: only the KSUIDs that
+ * are retained need to be converted with {@link #toKsuid()}.
+ * <p>
+ * Parsing strings and bytes allocates nothing. Instances of this class are
+ * <b>not</b> thread safe.
+ * 
+ * @since 4.2.0
+ */
+public final class MutableKsuid implements Comparable<MutableKsuid> {
+
+	private int seconds;
+	private long msb;
+	private long lsb;
+
+	// scratch buffers of the base-62 codec
+	private final int[] number = new int[Ksuid.KSUID_INTS];
+	private char[] chars;
+
+	/**
+	 * Creates a mutable KSUID with all bits set to zero.
+	 */
+	public MutableKsuid() {
+	}
+
+	/**
+	 * Creates a mutable KSUID with the value of a KSUID.
+	 * 
+	 * @param ksuid a KSUID
+	 */
+	public MutableKsuid(Ksuid ksuid) {
+		set(ksuid);
+	}
+
+	/**
+	 * Sets the value of a KSUID.
+	 * 
+	 * @param ksuid a KSUID
+	 * @return this mutable KSUID
+	 */
+	public MutableKsuid set(final Ksuid ksuid) {
+		this.seconds = (int) Ksuid.toKsuidTime(ksuid.getTime());
+		this.msb = ksuid.getMostSignificantBits();
+		this.lsb = ksuid.getLeastSignificantBits();
+		return this;
+	}
+
+	/**
+	 * Sets the value of another mutable KSUID.
+	 * 
+	 * @param other a mutable KSUID
+	 * @return this mutable KSUID
+	 */
+	public MutableKsuid set(final MutableKsuid other) {
+		this.seconds = other.seconds;
+		this.msb = other.msb;
+		this.lsb = other.lsb;
+		return this;
+	}
+
+	/**
+	 * Sets the value of a KSUID in binary format.
+	 * 
+	 * @param bytes a byte array with 20 bytes
+	 * @return this mutable KSUID
+	 * @throws IllegalArgumentException if the byte array is invalid
+	 */
+	public MutableKsuid set(final byte[] bytes) {
+		if (bytes == null || bytes.length != Ksuid.KSUID_BYTES) {
+			throw new IllegalArgumentException("Invalid byte array length or null");
+		}
+		return set(bytes, 0);
+	}
+
+	/**
+	 * Sets the value of a KSUID in binary format.
+	 * 
+	 * @param bytes  a byte array
+	 * @param offset the position of the KSUID in the array
+	 * @return this mutable KSUID
+	 * @throws IndexOutOfBoundsException if the 20 bytes are out of the array
+	 */
+	public MutableKsuid set(final byte[] bytes, final int offset) {
+		if (offset < 0 || offset > bytes.length - Ksuid.KSUID_BYTES) {
+			throw new IndexOutOfBoundsException("Invalid offset");
+		}
+		this.seconds = ByteUtil.getInt(bytes, offset);
+		this.msb = ByteUtil.getLong(bytes, offset + 4);
+		this.lsb = ByteUtil.getLong(bytes, offset + 12);
+		return this;
+	}
+
+	/**
+	 * Sets the value of a KSUID in canonical string format.
+	 * 
+	 * @param string a canonical string
+	 * @return this mutable KSUID
+	 * @throws IllegalArgumentException if the string is invalid
+	 */
+	public MutableKsuid set(final CharSequence string) {
+		Ksuid.validate(string);
+		Ksuid.decode(string, this.number);
+		this.seconds = this.number[0];
+		this.msb = ((this.number[1] & Ksuid.INTEGER_MASK) << 32) | (this.number[2] & Ksuid.INTEGER_MASK);
+		this.lsb = ((this.number[3] & Ksuid.INTEGER_MASK) << 32) | (this.number[4] & Ksuid.INTEGER_MASK);
+		return this;
+	}
+
+	/**
+	 * Returns an immutable KSUID with the current value.
+	 * 
+	 * @return a KSUID
+	 */
+	public Ksuid toKsuid() {
+		return Ksuid.of(getTime(), this.msb, this.lsb);
+	}
+
+	/**
+	 * Convert the KSUID into a byte array.
+	 * 
+	 * @return a byte array
+	 */
+	public byte[] toBytes() {
+		final byte[] bytes = new byte[Ksuid.KSUID_BYTES];
+		toBytes(bytes, 0);
+		return bytes;
+	}
+
+	/**
+	 * Copy the KSUID into a byte array.
+	 * 
+	 * @param bytes  a byte array
+	 * @param offset the position of the KSUID in the array
+	 * @throws IndexOutOfBoundsException if the 20 bytes are out of the array
+	 */
+	public void toBytes(final byte[] bytes, final int offset) {
+		if (offset < 0 || offset > bytes.length - Ksuid.KSUID_BYTES) {
+			throw new IndexOutOfBoundsException("Invalid offset");
+		}
+		ByteUtil.putInt(bytes, offset, this.seconds);
+		ByteUtil.putLong(bytes, offset + 4, this.msb);
+		ByteUtil.putLong(bytes, offset + 12, this.lsb);
+	}
+
+	/**
+	 * Convert the KSUID into a canonical string.
+	 * 
+	 * @return a string
+	 */
+	@Override
+	public String toString() {
+		if (this.chars == null) {
+			this.chars = new char[Ksuid.KSUID_CHARS];
+		}
+		this.number[0] = this.seconds;
+		this.number[1] = (int) (this.msb >>> 32);
+		this.number[2] = (int) this.msb;
+		this.number[3] = (int) (this.lsb >>> 32);
+		this.number[4] = (int) this.lsb;
+		Ksuid.encode(this.number, this.chars);
+		return new String(this.chars);
+	}
+
+	/**
+	 * Return the instant of creation.
+	 * 
+	 * @return the {@link Instant} of creation
+	 */
+	public Instant getInstant() {
+		return Instant.ofEpochSecond(getTime());
+	}
+
+	/**
+	 * Return the creation time.
+	 * <p>
+	 * The number returned is equivalent to the number of seconds since 1970-01-01
+	 * (Unix epoch).
+	 * 
+	 * @return a number of seconds
+	 */
+	public long getTime() {
+		return Ksuid.toUnixTime(this.seconds);
+	}
+
+	/**
+	 * Return the payload.
+	 * <p>
+	 * The payload is an array of 16 bytes (128 bits).
+	 * 
+	 * @return a byte array
+	 */
+	public byte[] getPayload() {
+		final byte[] payload = new byte[Ksuid.PAYLOAD_BYTES];
+		ByteUtil.putLong(payload, 0, this.msb);
+		ByteUtil.putLong(payload, 8, this.lsb);
+		return payload;
+	}
+
+	/**
+	 * Returns a hash code value for the KSUID.
+	 * <p>
+	 * It is the same as the hash code of an equal {@link Ksuid}.
+	 */
+	@Override
+	public int hashCode() {
+
+		final int prime = 31;
+		int result = 1;
+
+		result = prime * result + seconds;
+
+		for (int i = Long.SIZE - Byte.SIZE; i >= 0; i -= Byte.SIZE) {
+			result = prime * result + (byte) (msb >>> i);
+		}
+		for (int i = Long.SIZE - Byte.SIZE; i >= 0; i -= Byte.SIZE) {
+			result = prime * result + (byte) (lsb >>> i);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Checks if some other mutable KSUID has the same value as this one.
+	 */
+	@Override
+	public boolean equals(Object other) {
+
+		if (other == null)
+			return false;
+		if (other.getClass() != MutableKsuid.class)
+			return false;
+
+		MutableKsuid that = (MutableKsuid) other;
+		return this.seconds == that.seconds && this.msb == that.msb && this.lsb == that.lsb;
+	}
+
+	/**
+	 * Compares two KSUIDs as unsigned 160-bit integers.
+	 * 
+	 * @param that a mutable KSUID to be compared with
+	 * @return -1, 0 or 1 as {@code this} is less than, equal to, or greater than
+	 *         {@code that}
+	 */
+	@Override
+	public int compareTo(final MutableKsuid that) {
+		return compare(that.seconds, that.msb, that.lsb);
+	}
+
+	/**
+	 * Compares this mutable KSUID to a KSUID as unsigned 160-bit integers.
+	 * 
+	 * @param that a KSUID to be compared with
+	 * @return -1, 0 or 1 as {@code this} is less than, equal to, or greater than
+	 *         {@code that}
+	 */
+	public int compareTo(final Ksuid that) {
+		return compare((int) Ksuid.toKsuidTime(that.getTime()), that.getMostSignificantBits(),
+				that.getLeastSignificantBits());
+	}
+
+	private int compare(final int seconds, final long msb, final long lsb) {
+		int c = Integer.compareUnsigned(this.seconds, seconds);
+		if (c == 0) {
+			c = Long.compareUnsigned(this.msb, msb);
+			if (c == 0) {
+				c = Long.compareUnsigned(this.lsb, lsb);
+			}
+		}
+		return Integer.signum(c);
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2021-2022 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ksuid;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import jdk.jfr.Timestamp;
+
+/**
+ * Hooks that report anomalies in the generation of KSUIDs.
+ * <p>
+ * This is the Java 17 implementation. It emits JDK Flight Recorder events
+ * under the category "KSUID Creator". The timed events have a threshold, so
+ * that only slow operations are recorded, and none of them costs more than a
+ * check when no recording is running.
+ */
+final class KsuidEvents {
+
+	// the types are looked up once, so that a disabled
+	// event costs a check instead of an allocation
+	private static final EventType SLOW_RANDOM = EventType.getEventType(SlowRandomEvent.class);
+	private static final EventType LOCK_CONTENTION = EventType.getEventType(LockContentionEvent.class);
+
+	private KsuidEvents() {
+	}
+
+	static Object beginRandom() {
+		if (!SLOW_RANDOM.isEnabled()) {
+			return null;
+		}
+		final SlowRandomEvent event = new SlowRandomEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endRandom(final Object event, final int bytes) {
+		if (event == null) {
+			return;
+		}
+		final SlowRandomEvent random = (SlowRandomEvent) event;
+		random.end();
+		if (random.shouldCommit()) {
+			random.bytes = bytes;
+			random.commit();
+		}
+	}
+
+	static Object beginLockWait() {
+		if (!LOCK_CONTENTION.isEnabled()) {
+			return null;
+		}
+		final LockContentionEvent event = new LockContentionEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endLockWait(final Object event) {
+		if (event != null) {
+			((LockContentionEvent) event).commit();
+		}
+	}
+
+	static void clockRegression(final long previous, final long current, final boolean tolerated) {
+		final ClockRegressionEvent event = new ClockRegressionEvent();
+		if (event.shouldCommit()) {
+			event.previousTime = previous * 1000;
+			event.currentTime = current * 1000;
+			event.regression = previous - current;
+			event.tolerated = tolerated;
+			event.commit();
+		}
+	}
+
+	static void payloadOverflow(final long time) {
+		final PayloadOverflowEvent event = new PayloadOverflowEvent();
+		if (event.shouldCommit()) {
+			event.time = time * 1000;
+			event.commit();
+		}
+	}
+
+	@Name("com.github.f4b6a3.ksuid.SlowRandom")
+	@Label("Slow Random Read")
+	@Description("Random bytes for KSUIDs took long to read, for example, because the entropy source blocked")
+	@Category("KSUID Creator")
+	@Threshold("10 ms")
+	static final class SlowRandomEvent extends Event {
+
+		@Label("Bytes")
+		int bytes;
+	}
+
+	@Name("com.github.f4b6a3.ksuid.LockContention")
+	@Label("KSUID Factory Lock Contention")
+	@Description("A thread waited long for the lock of a KSUID factory")
+	@Category("KSUID Creator")
+	@Threshold("10 ms")
+	static final class LockContentionEvent extends Event {
+	}
+
+	@Name("com.github.f4b6a3.ksuid.ClockRegression")
+	@Label("Clock Regression")
+	@Description("The clock was behind the time of the previous Monotonic KSUID")
+	@Category("KSUID Creator")
+	static final class ClockRegressionEvent extends Event {
+
+		@Label("Previous Time")
+		@Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+		long previousTime;
+
+		@Label("Current Time")
+		@Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+		long currentTime;
+
+		@Label("Regression")
+		@Timespan(Timespan.SECONDS)
+		long regression;
+
+		@Label("Tolerated")
+		@Description("True if the previous time was kept to preserve monotonicity")
+		boolean tolerated;
+	}
+
+	@Name("com.github.f4b6a3.ksuid.PayloadOverflow")
+	@Label("Payload Overflow")
+	@Description("The payload of a Monotonic KSUID overflowed and the time was incremented")
+	@Category("KSUID Creator")
+	static final class PayloadOverflowEvent extends Event {
+
+		@Label("Time")
+		@Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+		long time;
+	}
+}
@@ -0,0 +1,196 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class BufferedKsuidFactoryTest {
+
+	private static final int DEFAULT_LOOP_MAX = 10_000;
+
+	@Test
+	public void testCreate() {
+		try (BufferedKsuidFactory factory = new BufferedKsuidFactory(KsuidFactory.newInstance(new Random()), 256,
+				Duration.ofSeconds(1))) {
+
+			Set<Ksuid> set = new HashSet<>();
+			long startTime = System.currentTimeMillis() / 1000;
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				assertTrue("KSUID is duplicated", set.add(factory.create()));
+			}
+			long endTime = System.currentTimeMillis() / 1000;
+
+			for (Ksuid ksuid : set) {
+				assertTrue(ksuid.getTime() >= startTime - 1 && ksuid.getTime() <= endTime);
+			}
+		}
+	}
+
+	@Test
+	public void testRefill() throws InterruptedException {
+		try (BufferedKsuidFactory factory = new BufferedKsuidFactory(KsuidFactory.newInstance(new Random()), 64,
+				Duration.ofSeconds(10))) {
+			assertTrue(waitForSize(factory, 64));
+			factory.create();
+			assertEquals(63, factory.size());
+		}
+	}
+
+	@Test
+	public void testMaxAge() throws InterruptedException {
+
+		// a clock that reports the number of KSUIDs created so far as seconds
+		Clock clock = new Clock() {
+			private long seconds = Ksuid.EPOCH_OFFSET;
+
+			@Override
+			public synchronized Instant instant() {
+				return Instant.ofEpochSecond(seconds++);
+			}
+
+			@Override
+			public ZoneId getZone() {
+				return null;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return null;
+			}
+		};
+
+		try (BufferedKsuidFactory factory = new BufferedKsuidFactory(KsuidFactory.newInstance(new Random(), clock),
+				16, Duration.ofMillis(50))) {
+
+			assertTrue(waitForSize(factory, 16));
+			long before = clock.instant().getEpochSecond();
+			Thread.sleep(200);
+
+			// the old KSUIDs were discarded
+			Ksuid ksuid = factory.create();
+			assertTrue(ksuid.getTime() > before);
+		}
+	}
+
+	@Test
+	public void testClose() {
+		BufferedKsuidFactory factory = new BufferedKsuidFactory(KsuidFactory.newInstance(new Random()), 64,
+				Duration.ofSeconds(10));
+		factory.close();
+		assertEquals(0, factory.size());
+		assertTrue(factory.create() != null);
+	}
+
+	@Test
+	public void testCloseDuringRefill() throws InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			BufferedKsuidFactory factory = new BufferedKsuidFactory(KsuidFactory.newInstance(new Random()), 4096,
+					Duration.ofSeconds(10));
+			final long start = System.nanoTime();
+			while (System.nanoTime() - start < (i % 20) * 10_000) {
+				// let the refill thread start a batch
+			}
+			factory.close();
+			Thread.sleep(2);
+			assertEquals(0, factory.size());
+		}
+	}
+
+	@Test
+	public void testFailingFactory() throws InterruptedException {
+
+		final RuntimeException exception = new RuntimeException("Random failure");
+		final AtomicBoolean failing = new AtomicBoolean(true);
+
+		KsuidFactory decorated = KsuidFactory.newInstance(new Random() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public long nextLong() {
+				if (failing.get()) {
+					throw exception;
+				}
+				return super.nextLong();
+			}
+		});
+
+		try (BufferedKsuidFactory factory = new BufferedKsuidFactory(decorated, 64, Duration.ofSeconds(10))) {
+			for (int i = 0; i < 1000 && factory.getLastFailure() == null; i++) {
+				Thread.sleep(5);
+			}
+			assertSame(exception, factory.getLastFailure());
+			assertEquals(0, factory.size());
+
+			// the thread retries after the failure
+			failing.set(false);
+			assertTrue(waitForSize(factory, 64));
+		}
+	}
+
+	@Test
+	public void testSlowFactory() throws InterruptedException {
+
+		KsuidFactory decorated = KsuidFactory.newInstance(new Random() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public long nextLong() {
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.nextLong();
+			}
+		});
+
+		// a batch takes longer than the maximum age
+		try (BufferedKsuidFactory factory = new BufferedKsuidFactory(decorated, 64, Duration.ofMillis(10))) {
+			for (int i = 0; i < 1000 && factory.getLastFailure() == null; i++) {
+				Thread.sleep(5);
+			}
+			assertTrue(factory.getLastFailure() instanceof IllegalStateException);
+			assertEquals(0, factory.size());
+			assertNotNull(factory.create()); // created by the decorated factory
+		}
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		try {
+			new BufferedKsuidFactory(KsuidFactory.newInstance(), 0, Duration.ofSeconds(1)).close();
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			new BufferedKsuidFactory(KsuidFactory.newInstance(), 1, Duration.ZERO).close();
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	private boolean waitForSize(BufferedKsuidFactory factory, int size) throws InterruptedException {
+		for (int i = 0; i < 1000; i++) {
+			if (factory.size() == size) {
+				return true;
+			}
+			Thread.sleep(5);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,41 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ByteUtilTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	@Test
+	public void testGetAndPut() {
+
+		Random random = new Random();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			byte[] bytes = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes);
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+			int offset = random.nextInt(Ksuid.KSUID_BYTES - Long.BYTES + 1);
+			assertEquals(buffer.getInt(offset), ByteUtil.getInt(bytes, offset));
+			assertEquals(buffer.getLong(offset), ByteUtil.getLong(bytes, offset));
+
+			int number1 = random.nextInt();
+			byte[] bytes1 = new byte[Ksuid.KSUID_BYTES];
+			ByteUtil.putInt(bytes1, offset, number1);
+			assertArrayEquals(ByteBuffer.allocate(Ksuid.KSUID_BYTES).putInt(offset, number1).array(), bytes1);
+
+			long number2 = random.nextLong();
+			byte[] bytes2 = new byte[Ksuid.KSUID_BYTES];
+			ByteUtil.putLong(bytes2, offset, number2);
+			assertArrayEquals(ByteBuffer.allocate(Ksuid.KSUID_BYTES).putLong(offset, number2).array(), bytes2);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CoarseClockTest {
+
+	private static final long TOLERANCE = 1_000; // generous for slow CI machines
+
+	@Test
+	public void testMillisAndInstant() throws InterruptedException {
+		try (CoarseClock clock = new CoarseClock()) {
+
+			long before = System.currentTimeMillis();
+			long millis = clock.millis();
+			Instant instant = clock.instant();
+			long after = System.currentTimeMillis();
+
+			assertTrue(millis >= before - TOLERANCE && millis <= after);
+			assertTrue(instant.toEpochMilli() >= before - TOLERANCE && instant.toEpochMilli() <= after);
+
+			// the clock moves forward
+			Thread.sleep(20);
+			assertTrue(clock.millis() > millis);
+		}
+	}
+
+	@Test
+	public void testClose() throws InterruptedException {
+		CoarseClock clock = new CoarseClock();
+		clock.close();
+		Thread.sleep(10); // wait for the last tick
+		Instant instant = clock.instant();
+		Thread.sleep(20);
+		assertSame(instant, clock.instant());
+		assertEquals(instant.toEpochMilli(), clock.millis());
+	}
+
+	@Test
+	public void testZone() {
+		try (CoarseClock clock = new CoarseClock()) {
+			assertEquals(ZoneOffset.UTC, clock.getZone());
+			assertSame(clock, clock.withZone(ZoneOffset.UTC));
+			Clock other = clock.withZone(ZoneId.of("America/Sao_Paulo"));
+			assertEquals(ZoneId.of("America/Sao_Paulo"), other.getZone());
+			assertTrue(Math.abs(other.millis() - clock.millis()) <= TOLERANCE);
+		}
+	}
+
+	@Test
+	public void testInvalidTick() {
+		try {
+			new CoarseClock(Duration.ofNanos(1)).close();
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testMillisecondPrecision() {
+		try (CoarseClock clock = new CoarseClock()) {
+			assertEquals(0, clock.instant().getNano() % 1_000_000);
+			assertEquals(KsuidFactory.PRECISION_MILLISECOND, KsuidFactory.getSubsecondPrecision(clock));
+			// the factory returned by newSubsecondInstance(clock)
+			Object function = KsuidFactory.getSubsecondFunction(KsuidFactory.IRandom.newInstance(), clock);
+			assertTrue(function instanceof KsuidFactory.MillisecondFunction);
+		}
+	}
+
+	@Test
+	public void testFactories() {
+		try (CoarseClock clock = new CoarseClock(Duration.ofMillis(10))) {
+			KsuidFactory[] factories = { //
+					KsuidFactory.newInstance(clock), //
+					KsuidFactory.newInstance(new Random(), clock), //
+					KsuidFactory.newSubsecondInstance(clock), //
+					KsuidFactory.newSubsecondInstance(new Random(), clock), //
+					KsuidFactory.newMonotonicInstance(clock), //
+					KsuidFactory.newMonotonicInstance(new Random(), clock) };
+
+			for (KsuidFactory factory : factories) {
+				long before = System.currentTimeMillis() / 1000;
+				Ksuid ksuid = factory.create();
+				long after = System.currentTimeMillis() / 1000;
+				assertNotNull(ksuid);
+				assertTrue(ksuid.getTime() >= before - 1 && ksuid.getTime() <= after);
+			}
+		}
+	}
+}
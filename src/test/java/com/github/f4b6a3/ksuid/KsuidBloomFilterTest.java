@@ -0,0 +1,139 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class KsuidBloomFilterTest {
+
+	private static final int DEFAULT_LOOP_MAX = 10_000;
+
+	@Test
+	public void testFalsePositiveRate() {
+
+		final double fpp = 0.01;
+		KsuidFactory[] factories = { KsuidFactory.newInstance(), KsuidFactory.newSubsecondInstance(),
+				KsuidFactory.newMonotonicInstance(), KsuidFactory.newNodeInstance(1) };
+
+		for (KsuidFactory factory : factories) {
+
+			KsuidBloomFilter filter = KsuidBloomFilter.newInstance(DEFAULT_LOOP_MAX, fpp);
+			Ksuid[] ksuids = factory.createAll(DEFAULT_LOOP_MAX);
+			for (Ksuid ksuid : ksuids) {
+				filter.add(ksuid);
+			}
+
+			// no false negatives
+			for (Ksuid ksuid : ksuids) {
+				assertTrue(filter.mightContain(ksuid));
+			}
+
+			int positives = 0;
+			final int queries = DEFAULT_LOOP_MAX * 10;
+			for (Ksuid ksuid : factory.createAll(queries)) {
+				if (filter.mightContain(ksuid)) {
+					positives++;
+				}
+			}
+			assertTrue("False positives: " + positives, positives < queries * fpp * 2);
+		}
+	}
+
+	@Test
+	public void testAdd() {
+		KsuidBloomFilter filter = KsuidBloomFilter.newInstance(DEFAULT_LOOP_MAX, 0.001);
+		Ksuid ksuid = KsuidCreator.getKsuid();
+		assertFalse(filter.mightContain(ksuid));
+		assertTrue(filter.add(ksuid));
+		assertFalse(filter.add(ksuid));
+		assertTrue(filter.mightContain(new Ksuid(ksuid)));
+	}
+
+	@Test
+	public void testSize() {
+		KsuidBloomFilter filter = KsuidBloomFilter.newInstance(1_000_000, 0.01);
+		// 9.6 bits per KSUID rounded up to a power of two
+		assertEquals(1L << 24, filter.getBitCount());
+		assertEquals(12, filter.getProbeCount());
+		assertEquals(12 + (1L << 21), filter.getSerializedSize());
+
+		assertEquals(64, KsuidBloomFilter.newInstance(1, 0.5).getBitCount());
+	}
+
+	@Test
+	public void testSerialization() {
+
+		KsuidBloomFilter filter = KsuidBloomFilter.newInstance(DEFAULT_LOOP_MAX, 0.01);
+		Ksuid[] ksuids = KsuidFactory.newInstance().createAll(DEFAULT_LOOP_MAX);
+		for (Ksuid ksuid : ksuids) {
+			filter.add(ksuid);
+		}
+
+		byte[] bytes = filter.toBytes();
+		assertEquals(filter.getSerializedSize(), bytes.length);
+		KsuidBloomFilter other = KsuidBloomFilter.fromBytes(bytes);
+		assertEquals(filter.getBitCount(), other.getBitCount());
+		assertEquals(filter.getProbeCount(), other.getProbeCount());
+		assertArrayEquals(bytes, other.toBytes());
+
+		// a direct buffer with an offset
+		final int offset = 7;
+		ByteBuffer buffer = ByteBuffer.allocateDirect(offset + bytes.length + 5);
+		buffer.position(offset);
+		filter.writeTo(buffer);
+		assertEquals(offset + bytes.length, buffer.position());
+		buffer.position(offset);
+		KsuidBloomFilter another = KsuidBloomFilter.readFrom(buffer);
+		assertEquals(offset + bytes.length, buffer.position());
+
+		for (Ksuid ksuid : ksuids) {
+			assertTrue(other.mightContain(ksuid));
+			assertTrue(another.mightContain(ksuid));
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+
+		try {
+			KsuidBloomFilter.newInstance(0, 0.01);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		double[] probabilities = { 0, 1, -0.1, Double.NaN };
+		for (double fpp : probabilities) {
+			try {
+				KsuidBloomFilter.newInstance(1000, fpp);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+
+		try {
+			KsuidBloomFilter.newInstance(Long.MAX_VALUE, 0.01);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		byte[] bytes = KsuidBloomFilter.newInstance(1000, 0.01).toBytes();
+		byte[][] invalid = { null, new byte[0], new byte[bytes.length], java.util.Arrays.copyOf(bytes, 100) };
+		for (byte[] array : invalid) {
+			try {
+				KsuidBloomFilter.fromBytes(array);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class KsuidCacheTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	@Test
+	public void testIntern() {
+
+		KsuidCache cache = new KsuidCache(DEFAULT_LOOP_MAX);
+		Ksuid ksuid = KsuidCreator.getKsuid();
+		String string = ksuid.toString();
+
+		Ksuid interned = cache.intern(new String(string));
+		assertEquals(ksuid, interned);
+		assertEquals(1, cache.getMisses());
+		assertEquals(0, cache.getHits());
+
+		// the same instance is returned for all the formats
+		assertSame(interned, cache.intern(new String(string)));
+		assertSame(interned, cache.intern(ksuid.toBytes()));
+		assertSame(interned, cache.intern(new Ksuid(ksuid)));
+		assertSame(cache.toString(interned), cache.toString(new Ksuid(ksuid)));
+		assertEquals(string, cache.toString(interned));
+
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMisses());
+		assertEquals(6, cache.getHits());
+		assertEquals(6.0 / 7.0, cache.getHitRate(), 1e-9);
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHits());
+		assertEquals(0.0, cache.getHitRate(), 1e-9);
+		assertNotSame(interned, cache.intern(string));
+	}
+
+	@Test
+	public void testEviction() {
+
+		final int capacity = 100;
+		KsuidCache cache = new KsuidCache(capacity);
+
+		Ksuid hot = cache.intern(KsuidCreator.getKsuid());
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			cache.intern(KsuidCreator.getKsuid().toString());
+			// the hot KSUID gets a second chance
+			assertSame(hot, cache.intern(hot.toString()));
+			assertTrue(cache.size() <= capacity);
+		}
+
+		assertEquals(capacity, cache.size());
+		assertEquals(capacity, cache.capacity());
+		assertEquals(DEFAULT_LOOP_MAX + 1, cache.getMisses());
+		assertEquals(DEFAULT_LOOP_MAX, cache.getHits());
+	}
+
+	@Test
+	public void testInternInParallel() throws InterruptedException {
+
+		final KsuidCache cache = new KsuidCache(10);
+		final Ksuid[] ksuids = new Ksuid[20];
+		for (int i = 0; i < ksuids.length; i++) {
+			ksuids[i] = KsuidCreator.getKsuid();
+		}
+
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX * 10; j++) {
+					Ksuid ksuid = ksuids[j % ksuids.length];
+					assertEquals(ksuid, cache.intern(ksuid.toString()));
+					assertEquals(ksuid.toString(), cache.toString(ksuid));
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(cache.size() <= 10);
+		assertEquals(threads.length * DEFAULT_LOOP_MAX * 10 * 2, cache.getHits() + cache.getMisses());
+	}
+
+	@Test
+	public void testInvalid() {
+
+		try {
+			new KsuidCache(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		KsuidCache cache = new KsuidCache(10);
+
+		try {
+			cache.intern("invalid");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			cache.intern(new byte[Ksuid.KSUID_BYTES - 1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
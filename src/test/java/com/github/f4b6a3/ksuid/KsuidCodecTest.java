@@ -0,0 +1,93 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KsuidCodecTest {
+
+	private static final int SMALL_LENGTH = 1_000;
+	private static final int LARGE_LENGTH = KsuidCodec.THRESHOLD * 10 + 1;
+
+	@Test
+	public void testEncodeAndDecodeAllStrings() {
+		for (int length : new int[] { 0, 1, SMALL_LENGTH, LARGE_LENGTH }) {
+
+			Ksuid[] ksuids = getRandomKsuids(length);
+			String[] strings = new String[length];
+			KsuidCodec.encodeAll(ksuids, strings);
+
+			for (int i = 0; i < length; i++) {
+				assertEquals(ksuids[i].toString(), strings[i]);
+			}
+
+			Ksuid[] decoded = new Ksuid[length];
+			KsuidCodec.decodeAll(strings, decoded);
+			assertArrayEquals(ksuids, decoded);
+		}
+	}
+
+	@Test
+	public void testEncodeAndDecodeAllBytes() {
+		for (int length : new int[] { 0, 1, SMALL_LENGTH, LARGE_LENGTH }) {
+
+			Ksuid[] ksuids = getRandomKsuids(length);
+			byte[] bytes = new byte[length * Ksuid.KSUID_BYTES];
+			KsuidCodec.encodeAll(ksuids, bytes);
+
+			for (int i = 0; i < length; i++) {
+				byte[] expected = ksuids[i].toBytes();
+				for (int j = 0; j < Ksuid.KSUID_BYTES; j++) {
+					assertEquals(expected[j], bytes[i * Ksuid.KSUID_BYTES + j]);
+				}
+			}
+
+			Ksuid[] decoded = new Ksuid[length];
+			KsuidCodec.decodeAll(bytes, decoded);
+			assertArrayEquals(ksuids, decoded);
+		}
+	}
+
+	@Test
+	public void testInvalidInput() {
+
+		try {
+			KsuidCodec.encodeAll(new Ksuid[2], new String[1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			KsuidCodec.decodeAll(new byte[Ksuid.KSUID_BYTES + 1], new Ksuid[1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			String[] strings = new String[LARGE_LENGTH];
+			KsuidCodec.encodeAll(getRandomKsuids(LARGE_LENGTH), strings);
+			strings[LARGE_LENGTH - 1] = "#0123456789ABCDEFGHIJKLMNOP";
+			KsuidCodec.decodeAll(strings, new Ksuid[LARGE_LENGTH]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	private Ksuid[] getRandomKsuids(int length) {
+		Random random = new Random();
+		Ksuid[] ksuids = new Ksuid[length];
+		byte[] bytes = new byte[Ksuid.KSUID_BYTES];
+		for (int i = 0; i < length; i++) {
+			random.nextBytes(bytes);
+			ksuids[i] = Ksuid.from(bytes);
+		}
+		return ksuids;
+	}
+}
@@ -0,0 +1,142 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class KsuidCountersTest {
+
+	@Test
+	public void testMonotonicCounters() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		long times[] = { time, time, time + 1, time + 2, time - 1, time - 18 };
+
+		Clock clock = new Clock() {
+			private int i;
+
+			@Override
+			public Instant instant() {
+				return Instant.ofEpochSecond(times[i++ % times.length]);
+			}
+
+			@Override
+			public ZoneId getZone() {
+				return null;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return null;
+			}
+		};
+
+		KsuidCounters counters = new KsuidCounters();
+		KsuidFactory factory = KsuidFactory.newMonotonicInstance(() -> new Random().nextLong(), clock, counters);
+		for (int i = 0; i < times.length; i++) {
+			factory.create();
+		}
+
+		assertEquals(times.length, counters.getCreated());
+		assertEquals(2, counters.getIncrements()); // time, time - 1
+		assertEquals(4, counters.getResets());
+		assertEquals(1, counters.getClockDrifts()); // time - 1
+
+		// the initial payload and one payload per reset
+		assertEquals(5, counters.getRandomReads());
+		assertEquals(5 * Ksuid.PAYLOAD_BYTES, counters.getRandomBytes());
+
+		factory.createAll(10);
+		assertEquals(times.length + 10, counters.getCreated());
+
+		counters.reset();
+		assertEquals(0, counters.getCreated());
+		assertEquals(0, counters.getIncrements());
+		assertEquals(0, counters.getRandomReads());
+	}
+
+	@Test
+	public void testSlowRandom() {
+
+		KsuidCounters counters = new KsuidCounters();
+		KsuidFactory factory = KsuidFactory.newInstance(new Random() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public long nextLong() {
+				sleep(10);
+				return super.nextLong();
+			}
+		}, counters);
+
+		factory.create();
+		factory.create();
+
+		assertEquals(2, counters.getCreated());
+		assertEquals(2, counters.getRandomReads());
+		assertTrue(counters.getRandomNanos() >= TimeUnit.MILLISECONDS.toNanos(2 * 10 * 2));
+		assertEquals(0, counters.getLockWaits());
+	}
+
+	@Test
+	public void testLockWait() throws InterruptedException {
+
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		KsuidCounters counters = new KsuidCounters();
+		KsuidFactory factory = KsuidFactory.newMonotonicInstance(new Random() {
+			private static final long serialVersionUID = 1L;
+			private int calls;
+
+			@Override
+			public long nextLong() {
+				if (++calls == 3) { // the first call after the constructor
+					entered.countDown();
+					await(release);
+				}
+				return super.nextLong();
+			}
+		}, counters);
+
+		Thread holder = new Thread(factory::create);
+		holder.start();
+		await(entered); // the holder is in the lock
+
+		Thread waiter = new Thread(factory::create);
+		waiter.start();
+		sleep(50);
+		release.countDown();
+
+		holder.join();
+		waiter.join();
+
+		assertEquals(2, counters.getCreated());
+		assertEquals(1, counters.getLockWaits());
+		assertTrue(counters.getLockWaitNanos() > 0);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -12,6 +12,19 @@ import java.math.BigInteger;
  */
 public class KsuidCreatorTest {
 
+	@Test
+	public void testGetSplittableKsuidStream() {
+		assertEquals(1000, KsuidCreator.getSplittableKsuidStream().limit(1000).count());
+		assertEquals(1000, KsuidCreator.getSplittableKsuidStream(1000).parallel().distinct().count());
+		assertEquals(0, KsuidCreator.getSplittableKsuidStream(0).count());
+		try {
+			KsuidCreator.getSplittableKsuidStream(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
 	@Test
 	public void testToBase62() {
 		for (int i = 0; i < SAMPLES_BASE_62.length; i++) {
@@ -0,0 +1,228 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.ksuid.KsuidDeduplicator.Result;
+
+public class KsuidDeduplicatorTest {
+
+	private static final int DEFAULT_LOOP_MAX = 10_000;
+
+	@Test
+	public void testAdd() {
+
+		KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofSeconds(10));
+		Ksuid[] ksuids = KsuidFactory.newInstance().createAll(DEFAULT_LOOP_MAX);
+
+		for (Ksuid ksuid : ksuids) {
+			assertFalse(deduplicator.contains(ksuid));
+			assertTrue(deduplicator.add(ksuid));
+			assertTrue(deduplicator.contains(ksuid));
+		}
+		assertEquals(DEFAULT_LOOP_MAX, deduplicator.size());
+
+		for (Ksuid ksuid : ksuids) {
+			assertFalse(deduplicator.add(new Ksuid(ksuid)));
+		}
+		assertEquals(DEFAULT_LOOP_MAX, deduplicator.size());
+
+		// the zero payload
+		Ksuid zero = new Ksuid(ksuids[0].getTime(), new byte[Ksuid.PAYLOAD_BYTES]);
+		assertTrue(deduplicator.add(zero));
+		assertFalse(deduplicator.add(zero));
+		assertTrue(deduplicator.contains(zero));
+
+		deduplicator.clear();
+		assertEquals(0, deduplicator.size());
+		assertTrue(deduplicator.add(ksuids[0]));
+	}
+
+	@Test
+	public void testWindow() {
+
+		final long time = Instant.parse("2022-01-01T00:00:00Z").getEpochSecond();
+		KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofSeconds(10));
+		Random random = new Random();
+
+		Ksuid[] ksuids = new Ksuid[100];
+		for (int i = 0; i < ksuids.length; i++) {
+			ksuids[i] = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + i));
+		}
+
+		for (int i = 0; i < ksuids.length; i++) {
+			assertTrue(deduplicator.add(ksuids[i]));
+			// KSUIDs within the window are remembered
+			for (int j = Math.max(0, i - 10); j <= i; j++) {
+				assertTrue(deduplicator.contains(ksuids[j]));
+				assertFalse(deduplicator.isExpired(ksuids[j]));
+			}
+			// older KSUIDs are forgotten
+			for (int j = 0; j < i - 11; j++) {
+				assertFalse(deduplicator.contains(ksuids[j]));
+				assertTrue(deduplicator.isExpired(ksuids[j]));
+				assertFalse(deduplicator.add(ksuids[j]));
+			}
+			// late KSUIDs within the window are accepted
+			if (i >= 5) {
+				Ksuid late = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + i - random.nextInt(5)));
+				assertTrue(deduplicator.add(late));
+				assertFalse(deduplicator.add(late));
+			}
+		}
+
+		// the memory is bounded by the window
+		assertTrue(deduplicator.size() <= 12 * 2);
+	}
+
+	@Test
+	public void testBucketWidth() {
+
+		final long time = Instant.parse("2022-01-01T00:00:00Z").getEpochSecond();
+		KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofMinutes(1), Duration.ofSeconds(20));
+
+		Ksuid ksuid1 = KsuidCreator.getKsuid(Instant.ofEpochSecond(time));
+		Ksuid ksuid2 = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + 60));
+		Ksuid ksuid3 = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + 120));
+
+		assertTrue(deduplicator.add(ksuid1));
+		assertTrue(deduplicator.add(ksuid2));
+		assertTrue(deduplicator.contains(ksuid1));
+		assertTrue(deduplicator.add(ksuid3));
+		assertFalse(deduplicator.contains(ksuid1));
+		assertTrue(deduplicator.isExpired(ksuid1));
+		assertTrue(deduplicator.contains(ksuid2));
+	}
+
+	@Test
+	public void testSamePayloadInBucket() {
+
+		final long time = Instant.parse("2022-01-01T00:00:00Z").getEpochSecond();
+		KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			byte[] payload = new byte[Ksuid.PAYLOAD_BYTES];
+			random.nextBytes(payload);
+
+			// different seconds in the same bucket
+			Ksuid ksuid1 = new Ksuid(time + i * 10, payload);
+			Ksuid ksuid2 = new Ksuid(time + i * 10 + 1, payload);
+
+			assertTrue(deduplicator.add(ksuid1));
+			assertFalse(deduplicator.contains(ksuid2));
+			assertTrue(deduplicator.add(ksuid2));
+			assertFalse(deduplicator.add(ksuid1));
+			assertFalse(deduplicator.add(ksuid2));
+		}
+	}
+
+	@Test
+	public void testAddInParallel() throws InterruptedException {
+
+		final KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofMinutes(1));
+		final Ksuid[] ksuids = KsuidFactory.newInstance().createAll(DEFAULT_LOOP_MAX);
+		final int[] added = new int[4];
+
+		Thread[] threads = new Thread[added.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int t = i;
+			threads[i] = new Thread(() -> {
+				for (Ksuid ksuid : ksuids) {
+					if (deduplicator.add(ksuid)) {
+						added[t]++;
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		int total = 0;
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+			total += added[i];
+		}
+
+		// each KSUID is added only once
+		assertEquals(DEFAULT_LOOP_MAX, total);
+		assertEquals(DEFAULT_LOOP_MAX, deduplicator.size());
+	}
+
+	@Test
+	public void testOffer() {
+
+		final long time = Instant.parse("2022-01-01T00:00:00Z").getEpochSecond();
+		KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofSeconds(10));
+
+		Ksuid old = KsuidCreator.getKsuid(Instant.ofEpochSecond(time));
+		Ksuid recent = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + 60));
+
+		assertEquals(Result.ADDED, deduplicator.offer(recent));
+		assertEquals(Result.DUPLICATE, deduplicator.offer(recent));
+
+		// a late but unique KSUID is not a duplicate
+		assertEquals(Result.EXPIRED, deduplicator.offer(old));
+		assertFalse(deduplicator.add(old));
+	}
+
+	@Test
+	public void testFuture() {
+
+		final long time = Instant.parse("2022-01-01T00:00:00Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+		KsuidDeduplicator deduplicator = new KsuidDeduplicator(Duration.ofSeconds(10), Duration.ofSeconds(1),
+				Duration.ofSeconds(5), clock);
+
+		Ksuid ksuid1 = KsuidCreator.getKsuid(Instant.ofEpochSecond(time - 1));
+		Ksuid ksuid2 = KsuidCreator.getKsuid(Instant.ofEpochSecond(time));
+		Ksuid ahead = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + 5));
+		Ksuid corrupt = KsuidCreator.getKsuid(Instant.ofEpochSecond(time + 86400 * 365));
+
+		assertEquals(Result.ADDED, deduplicator.offer(ksuid1));
+
+		// the corrupt KSUID doesn't slide the window
+		assertEquals(Result.FUTURE, deduplicator.offer(corrupt));
+		assertFalse(deduplicator.contains(corrupt));
+		assertFalse(deduplicator.isExpired(ksuid1));
+		assertEquals(Result.DUPLICATE, deduplicator.offer(ksuid1));
+		assertEquals(Result.ADDED, deduplicator.offer(ksuid2));
+
+		// within the horizon
+		assertEquals(Result.ADDED, deduplicator.offer(ahead));
+		assertEquals(3, deduplicator.size());
+	}
+
+	@Test
+	public void testInvalid() {
+
+		Duration[][] arguments = { { null, Duration.ofSeconds(1) }, { Duration.ZERO, Duration.ofSeconds(1) },
+				{ Duration.ofSeconds(10), null }, { Duration.ofSeconds(10), Duration.ofMillis(500) },
+				{ Duration.ofSeconds(10), Duration.ofSeconds(11) } };
+
+		for (Duration[] args : arguments) {
+			try {
+				new KsuidDeduplicator(args[0], args[1]);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+
+		try {
+			new KsuidDeduplicator(Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(-1));
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
@@ -296,6 +296,49 @@ public class KsuidFactoryTest {
 		}
 	}
 
+	@Test
+	public void testCreateWithClockMillis() {
+
+		KsuidFactory.IRandom random = new KsuidFactory.LongRandom(() -> new Random().nextLong());
+
+		for (int i = 0; i < 100; i++) {
+			long seconds = (RANDOM.nextLong() & 0x00000000ffffffffL) + Ksuid.EPOCH_OFFSET;
+			int ms = (RANDOM.nextInt() & 0x7fffffff) % 1000;
+			Clock clock = Clock.fixed(Instant.ofEpochSecond(seconds).plusMillis(ms), ZoneId.of("UTC"));
+
+			// the factory reads the clock millis instead of the clock instant
+			KsuidFactory factory1 = new KsuidFactory(new KsuidFactory.KsuidFunction(random), clock);
+			assertEquals(seconds, factory1.create().getTime());
+
+			KsuidFactory factory2 = new KsuidFactory(new KsuidFactory.MillisecondFunction(random), clock);
+			Ksuid ksuid = factory2.create();
+			assertEquals(seconds, ksuid.getTime());
+			byte[] payload = ksuid.getPayload();
+			int payloadMs = (((payload[0] & 0xff) << 8) | (payload[1] & 0xff)) >>> 6;
+			assertEquals(ms, payloadMs);
+
+			KsuidFactory factory3 = new KsuidFactory(new KsuidFactory.MonotonicFunction(random), clock);
+			assertEquals(seconds, factory3.create().getTime());
+		}
+	}
+
+	@Test
+	public void testCreateWithSharedRandomArray() {
+
+		byte[] shared = new byte[Ksuid.PAYLOAD_BYTES];
+		KsuidFactory factory = KsuidFactory.newInstance((length) -> {
+			RANDOM.nextBytes(shared);
+			return shared;
+		});
+
+		// the random function reuses its array, so the KSUIDs must copy it
+		Ksuid ksuid1 = factory.create();
+		byte[] payload1 = ksuid1.getPayload();
+		Ksuid ksuid2 = factory.create();
+		assertEquals(Arrays.toString(payload1), Arrays.toString(ksuid1.getPayload()));
+		assertNotEquals(ksuid1, ksuid2);
+	}
+
 	@Test
 	public void testGetMonotonicKsuidTime() {
 		for (int i = 0; i < 100; i++) {
@@ -408,6 +451,267 @@ public class KsuidFactoryTest {
 		assertEquals(ms1, ms2); // LEAP SECOND! DON'T MOVE BACKWARDS!
 	}
 
+	@Test
+	public void testCreateAll() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+		KsuidFactory[] factories = { //
+				KsuidFactory.newInstance(new Random(), clock), //
+				KsuidFactory.newInstance(new SecureRandom(), clock), //
+				KsuidFactory.newSubsecondInstance(new Random(), clock), //
+				KsuidFactory.newMonotonicInstance(new Random(), clock), //
+				KsuidFactory.newStripedMonotonicInstance(4, () -> RANDOM.nextLong(), clock), //
+				new KsuidFactory(instant -> Ksuid.fast(), clock) };
+
+		for (KsuidFactory factory : factories) {
+			Ksuid[] ksuids = factory.createAll(DEFAULT_LOOP_MAX);
+			assertEquals(DEFAULT_LOOP_MAX, ksuids.length);
+			assertTrue(checkNullOrInvalid(ksuids));
+			assertTrue(checkUniqueness(ksuids));
+			assertEquals(0, factory.createAll(0).length);
+		}
+
+		for (int i = 0; i < factories.length - 1; i++) {
+			for (Ksuid ksuid : factories[i].createAll(DEFAULT_LOOP_MAX)) {
+				assertEquals(time, ksuid.getTime());
+			}
+		}
+
+		// monotonic KSUIDs are consecutive
+		Ksuid[] ksuids = KsuidFactory.newMonotonicInstance(new Random(), clock).createAll(DEFAULT_LOOP_MAX);
+		for (int i = 1; i < ksuids.length; i++) {
+			assertEquals(ksuids[i - 1].increment(), ksuids[i]);
+		}
+
+		try {
+			KsuidFactory.newInstance().createAll(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testStream() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+		Ksuid[] ksuids = KsuidFactory.newSplittableStream(DEFAULT_LOOP_MAX, new SplittableRandom(), clock)
+				.toArray(Ksuid[]::new);
+		assertEquals(DEFAULT_LOOP_MAX, ksuids.length);
+
+		Set<Ksuid> set = new HashSet<>();
+		for (Ksuid ksuid : ksuids) {
+			assertEquals(time, ksuid.getTime());
+			assertTrue(DUPLICATE_UUID_MSG, set.add(ksuid));
+		}
+
+		// parallel streams don't repeat KSUIDs
+		Ksuid[] parallel = KsuidFactory.newSplittableStream(DEFAULT_LOOP_MAX, new SplittableRandom(), clock)
+				.parallel().toArray(Ksuid[]::new);
+		assertEquals(DEFAULT_LOOP_MAX, parallel.length);
+		assertEquals(DEFAULT_LOOP_MAX, Arrays.stream(parallel).distinct().count());
+
+		try {
+			KsuidFactory.newSplittableStream(-1, new SplittableRandom(), clock);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testStreamSplit() {
+		KsuidFactory.KsuidSpliterator spliterator = new KsuidFactory.KsuidSpliterator(new SplittableRandom(),
+				Clock.systemUTC(), 0, DEFAULT_LOOP_MAX);
+		KsuidFactory.KsuidSpliterator other = spliterator.trySplit();
+		assertEquals(DEFAULT_LOOP_MAX / 2, spliterator.estimateSize());
+		assertEquals(DEFAULT_LOOP_MAX / 2, other.estimateSize());
+
+		Set<Ksuid> set = new HashSet<>();
+		spliterator.forEachRemaining(ksuid -> assertTrue(DUPLICATE_UUID_MSG, set.add(ksuid)));
+		other.forEachRemaining(ksuid -> assertTrue(DUPLICATE_UUID_MSG, set.add(ksuid)));
+		assertEquals(DEFAULT_LOOP_MAX, set.size());
+		assertEquals(0, spliterator.estimateSize());
+		assertFalse(spliterator.tryAdvance(ksuid -> fail("Should be empty")));
+	}
+
+	@Test
+	public void testGetMonotonicKsuidOverflow() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+		// all ones: the first increment overflows the payload
+		KsuidFactory factory = KsuidFactory.newMonotonicInstance(() -> -1L, clock);
+		Ksuid ksuid1 = factory.create();
+		Ksuid ksuid2 = factory.create();
+		Ksuid ksuid3 = factory.create();
+		assertEquals(time, ksuid1.getTime());
+		assertEquals(time + 1, ksuid2.getTime()); // overflow
+		assertEquals(time + 1, ksuid3.getTime());
+		assertEquals(ksuid2.increment(), ksuid3);
+		assertTrue(ksuid2.compareTo(ksuid1) > 0);
+		assertTrue(ksuid3.compareTo(ksuid2) > 0);
+	}
+
+	@Test
+	public void testGetStripedMonotonicKsuidInParallel() throws InterruptedException {
+
+		final int stripes = 4;
+		final KsuidFactory factory = KsuidFactory.newStripedMonotonicInstance(stripes, new Random());
+		final Ksuid[][] lists = new Ksuid[THREAD_TOTAL][DEFAULT_LOOP_MAX];
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			final Ksuid[] list = lists[i];
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < list.length; j++) {
+					list[j] = factory.create();
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Set<Ksuid> set = new HashSet<>();
+		for (Ksuid[] list : lists) {
+			// the stripe index is in the 2 most significant bits of the payload
+			final int stripe = (list[0].getPayload()[0] & 0xff) >>> 6;
+			for (int j = 0; j < list.length; j++) {
+				assertTrue(DUPLICATE_UUID_MSG, set.add(list[j]));
+				assertEquals(stripe, (list[j].getPayload()[0] & 0xff) >>> 6);
+				if (j > 0) {
+					// each thread gets monotonic KSUIDs
+					assertTrue(list[j].compareTo(list[j - 1]) > 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGetStripedMonotonicKsuidOverflow() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+		// all ones except the stripe bits
+		KsuidFactory factory = KsuidFactory.newStripedMonotonicInstance(1, () -> -1L, clock);
+		Ksuid ksuid1 = factory.create();
+		Ksuid ksuid2 = factory.create();
+		assertEquals(time, ksuid1.getTime());
+		assertEquals(time + 1, ksuid2.getTime()); // overflow
+		assertTrue(ksuid2.compareTo(ksuid1) > 0);
+
+		KsuidFactory factory2 = KsuidFactory.newStripedMonotonicInstance(2, () -> -1L, clock);
+		Ksuid ksuid3 = factory2.create();
+		Ksuid ksuid4 = factory2.create();
+		assertEquals(time + 1, ksuid4.getTime()); // overflow
+		// the stripe bit is preserved
+		assertEquals(ksuid3.getPayload()[0] & 0x80, ksuid4.getPayload()[0] & 0x80);
+		assertEquals(0, ksuid4.getPayload()[0] & 0x7f);
+	}
+
+	@Test
+	public void testGetStripedMonotonicKsuidStripes() {
+		assertEquals(1, new KsuidFactory.StripedMonotonicFunction(new KsuidFactory.ByteRandom(), 1).getStripes());
+		assertEquals(2, new KsuidFactory.StripedMonotonicFunction(new KsuidFactory.ByteRandom(), 2).getStripes());
+		assertEquals(4, new KsuidFactory.StripedMonotonicFunction(new KsuidFactory.ByteRandom(), 3).getStripes());
+		assertEquals(256, new KsuidFactory.StripedMonotonicFunction(new KsuidFactory.ByteRandom(), 256).getStripes());
+		try {
+			KsuidFactory.newStripedMonotonicInstance(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			KsuidFactory.newStripedMonotonicInstance(257);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testGetNodeKsuid() {
+
+		for (int nodeBits : new int[] { 1, 8, 16, 31 }) {
+
+			long node = (RANDOM.nextLong() & 0x7fffffffL) % (1L << nodeBits);
+			KsuidFactory factory = KsuidFactory.newNodeInstance((int) node, nodeBits);
+
+			long startTime = System.currentTimeMillis() / 1000;
+			Ksuid[] list = new Ksuid[DEFAULT_LOOP_MAX];
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				list[i] = factory.create();
+			}
+			long endTime = System.currentTimeMillis() / 1000;
+
+			assertTrue(checkUniqueness(list));
+			assertTrue(checkCreationTime(list, startTime, endTime));
+
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				long msb = ByteBuffer.wrap(list[i].getPayload()).getLong();
+				assertEquals(node, msb >>> (Long.SIZE - nodeBits));
+				if (i > 0) {
+					assertTrue(list[i].compareTo(list[i - 1]) > 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGetNodeKsuidNoCollision() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+		// same random values for all nodes, but no collision
+		Set<Ksuid> set = new HashSet<>();
+		for (int node = 0; node < 10; node++) {
+			KsuidFactory factory = KsuidFactory.newNodeInstance(node, 8, () -> 0L, clock);
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				assertTrue(DUPLICATE_UUID_MSG, set.add(factory.create()));
+			}
+		}
+	}
+
+	@Test
+	public void testGetNodeKsuidCounter() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+		// the counter starts at the maximum of the lower half
+		KsuidFactory factory = KsuidFactory.newNodeInstance(1, 1, () -> -1L, clock);
+		Ksuid ksuid1 = factory.create();
+		Ksuid ksuid2 = factory.create();
+		assertEquals(time, ksuid1.getTime());
+		assertEquals(time, ksuid2.getTime());
+		assertEquals(0xbfffffffffffffffL, ByteBuffer.wrap(ksuid1.getPayload()).getLong());
+		assertEquals(0xc000000000000000L, ByteBuffer.wrap(ksuid2.getPayload()).getLong());
+		assertEquals(-1L, ByteBuffer.wrap(ksuid2.getPayload()).getLong(8));
+	}
+
+	@Test
+	public void testGetNodeKsuidInvalid() {
+		int[][] invalid = { { -1, 16 }, { 1 << 16, 16 }, { 0, 0 }, { 0, 32 }, { 2, 1 } };
+		for (int[] args : invalid) {
+			try {
+				KsuidFactory.newNodeInstance(args[0], args[1]);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+
 	private Clock getClock(int precision) {
 
 		final int divisor;
@@ -0,0 +1,160 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class KsuidIndexTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	private static final long START = 1_700_000_000L;
+	private static final int RANGE = 10_000;
+
+	@Test
+	public void testRangeQueries() {
+
+		Random random = new Random();
+		Ksuid[] ksuids = new Ksuid[DEFAULT_LOOP_MAX * 10];
+		for (int i = 0; i < ksuids.length; i++) {
+			ksuids[i] = KsuidCreator.getKsuid(Instant.ofEpochSecond(START + random.nextInt(RANGE)));
+		}
+
+		Ksuid[] sorted = ksuids.clone();
+		Arrays.sort(sorted);
+
+		Duration[] widths = { Duration.ofSeconds(1), Duration.ofSeconds(7), Duration.ofHours(1),
+				Duration.ofDays(365 * 1000) };
+
+		for (Duration width : widths) {
+			KsuidIndex index = KsuidIndex.newInstance(Arrays.asList(ksuids), width);
+			assertEquals(ksuids.length, index.size());
+			for (int i = 0; i < sorted.length; i++) {
+				assertEquals(sorted[i], index.get(i));
+			}
+
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				Instant from = Instant.ofEpochSecond(START - 10 + random.nextInt(RANGE + 20), random.nextInt(2));
+				Instant to = from.plusSeconds(random.nextInt(RANGE / 10));
+
+				List<Ksuid> expected = new ArrayList<>();
+				for (Ksuid ksuid : sorted) {
+					if (!ksuid.getInstant().isBefore(from) && ksuid.getInstant().isBefore(to)) {
+						expected.add(ksuid);
+					}
+				}
+
+				assertEquals(expected.size(), index.count(from, to));
+				assertEquals(expected, index.stream(from, to).collect(Collectors.toList()));
+
+				List<Ksuid> actual = new ArrayList<>();
+				index.forEach(from, to, ksuid -> actual.add(ksuid.toKsuid()));
+				assertEquals(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testIndexOf() {
+
+		Ksuid[] ksuids = new Ksuid[3];
+		ksuids[0] = KsuidCreator.getKsuid(Instant.ofEpochSecond(START));
+		ksuids[1] = KsuidCreator.getKsuid(Instant.ofEpochSecond(START + 2));
+		ksuids[2] = KsuidCreator.getKsuid(Instant.ofEpochSecond(START + 2));
+		KsuidIndex index = KsuidIndex.newInstance(ksuids);
+
+		assertEquals(0, index.indexOf(Instant.EPOCH));
+		assertEquals(0, index.indexOf(Instant.ofEpochSecond(START)));
+		assertEquals(1, index.indexOf(Instant.ofEpochSecond(START, 1)));
+		assertEquals(1, index.indexOf(Instant.ofEpochSecond(START + 1)));
+		assertEquals(1, index.indexOf(Instant.ofEpochSecond(START + 2)));
+		assertEquals(3, index.indexOf(Instant.ofEpochSecond(START + 3)));
+		assertEquals(3, index.indexOf(Instant.MAX));
+
+		assertEquals(0, index.count(Instant.ofEpochSecond(START + 3), Instant.ofEpochSecond(START)));
+		assertEquals(0, index.stream(Instant.ofEpochSecond(START + 3), Instant.ofEpochSecond(START)).count());
+	}
+
+	@Test
+	public void testPackedBytes() {
+
+		Random random = new Random();
+		Ksuid[] ksuids = new Ksuid[DEFAULT_LOOP_MAX];
+		for (int i = 0; i < ksuids.length; i++) {
+			ksuids[i] = KsuidCreator.getKsuid(Instant.ofEpochSecond(START + random.nextInt(RANGE)));
+		}
+
+		byte[] unsorted = new byte[ksuids.length * Ksuid.KSUID_BYTES];
+		KsuidCodec.encodeAll(ksuids, unsorted);
+		byte[] copy = unsorted.clone();
+
+		Arrays.sort(ksuids);
+		byte[] sorted = new byte[ksuids.length * Ksuid.KSUID_BYTES];
+		KsuidCodec.encodeAll(ksuids, sorted);
+
+		assertArrayEquals(sorted, KsuidIndex.newInstance(unsorted).toBytes());
+		assertArrayEquals(sorted, KsuidIndex.newInstance(sorted).toBytes());
+		assertArrayEquals(copy, unsorted); // not modified
+
+		KsuidIndex index = KsuidIndex.newInstance(sorted);
+		MutableKsuid mutable = new MutableKsuid();
+		for (int i = 0; i < ksuids.length; i++) {
+			assertEquals(ksuids[i], index.get(i, mutable).toKsuid());
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		KsuidIndex index = KsuidIndex.newInstance(new Ksuid[0]);
+		assertEquals(0, index.size());
+		assertEquals(0, index.indexOf(Instant.now()));
+		assertEquals(0, index.count(Instant.EPOCH, Instant.MAX));
+		assertEquals(0, index.toBytes().length);
+	}
+
+	@Test
+	public void testInvalid() {
+
+		Ksuid[] ksuids = { KsuidCreator.getKsuid() };
+
+		try {
+			KsuidIndex.newInstance(ksuids, Duration.ofMillis(1500));
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			KsuidIndex.newInstance(new byte[Ksuid.KSUID_BYTES + 1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			KsuidIndex.newInstance(new Ksuid[] { Ksuid.wrap(Ksuid.EPOCH_OFFSET, new byte[16]),
+					Ksuid.wrap(Ksuid.EPOCH_OFFSET + 0xffffffffL, new byte[16]) });
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			KsuidIndex.newInstance(ksuids).get(1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			assertTrue(true);
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KsuidPartitionerTest {
+
+	private static final int DEFAULT_LOOP_MAX = 100_000;
+
+	private static final int[] PARTITIONS = { 1, 2, 3, 10, 16, 100 };
+
+	private static KsuidFactory[] factories() {
+		return new KsuidFactory[] { //
+				KsuidFactory.newInstance(), //
+				KsuidFactory.newInstance(new Random()), //
+				KsuidFactory.newSubsecondInstance(), //
+				KsuidFactory.newSubsecondInstance(new Random()), //
+				KsuidFactory.newMonotonicInstance(), //
+				KsuidFactory.newMonotonicInstance(new Random()), //
+				KsuidFactory.newStripedMonotonicInstance(4), //
+				KsuidFactory.newNodeInstance(7) };
+	}
+
+	@Test
+	public void testPartitionUniformity() {
+		for (KsuidFactory factory : factories()) {
+			Ksuid[] ksuids = factory.createAll(DEFAULT_LOOP_MAX);
+			for (int partitions : PARTITIONS) {
+				checkUniformity(KsuidPartitioner.newInstance(partitions), ksuids);
+				checkUniformity(KsuidPartitioner.newConsistentInstance(partitions), ksuids);
+			}
+		}
+	}
+
+	@Test
+	public void testPartitionFormats() {
+		Random random = new Random();
+		for (int partitions : PARTITIONS) {
+			KsuidPartitioner[] partitioners = { KsuidPartitioner.newInstance(partitions),
+					KsuidPartitioner.newConsistentInstance(partitions) };
+			for (KsuidPartitioner partitioner : partitioners) {
+				assertEquals(partitions, partitioner.getPartitions());
+				for (int i = 0; i < 1_000; i++) {
+					Ksuid ksuid = KsuidCreator.getKsuid();
+					final int expected = partitioner.partition(ksuid);
+					assertEquals(expected, partitioner.partition(ksuid.toBytes()));
+					assertEquals(expected, partitioner.partition(ksuid.toString()));
+
+					final int offset = random.nextInt(8);
+					byte[] bytes = new byte[offset + Ksuid.KSUID_BYTES];
+					System.arraycopy(ksuid.toBytes(), 0, bytes, offset, Ksuid.KSUID_BYTES);
+					assertEquals(expected, partitioner.partition(bytes, offset));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testConsistentPartition() {
+
+		Ksuid[] ksuids = KsuidFactory.newInstance().createAll(DEFAULT_LOOP_MAX);
+
+		for (int partitions = 1; partitions < 20; partitions++) {
+			KsuidPartitioner before = KsuidPartitioner.newConsistentInstance(partitions);
+			KsuidPartitioner after = KsuidPartitioner.newConsistentInstance(partitions + 1);
+			int moved = 0;
+			for (Ksuid ksuid : ksuids) {
+				final int a = before.partition(ksuid);
+				final int b = after.partition(ksuid);
+				if (a != b) {
+					// keys only move to the new partition
+					assertEquals(partitions, b);
+					moved++;
+				}
+			}
+			final double expected = (double) DEFAULT_LOOP_MAX / (partitions + 1);
+			assertTrue(Math.abs(moved - expected) <= 6 * Math.sqrt(expected));
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+
+		try {
+			KsuidPartitioner.newInstance(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			KsuidPartitioner.newConsistentInstance(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		KsuidPartitioner partitioner = KsuidPartitioner.newInstance(10);
+
+		try {
+			partitioner.partition(new byte[Ksuid.KSUID_BYTES - 1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			partitioner.partition(new byte[Ksuid.KSUID_BYTES], 1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			partitioner.partition("invalid");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	private void checkUniformity(KsuidPartitioner partitioner, Ksuid[] ksuids) {
+
+		final int partitions = partitioner.getPartitions();
+		final int[] counts = new int[partitions];
+		for (Ksuid ksuid : ksuids) {
+			counts[partitioner.partition(ksuid)]++;
+		}
+
+		// each partition is within 6 standard deviations of the expected count
+		final double expected = (double) ksuids.length / partitions;
+		for (int i = 0; i < partitions; i++) {
+			assertTrue("Partition " + i + " of " + partitions + ": " + counts[i],
+					Math.abs(counts[i] - expected) <= 6 * Math.sqrt(expected));
+		}
+	}
+}
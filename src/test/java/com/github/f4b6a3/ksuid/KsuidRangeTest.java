@@ -0,0 +1,135 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KsuidRangeTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2021-12-31T23:59:59.000Z"), ZoneId.of("UTC"));
+
+	@Test
+	public void testReserve() {
+
+		final long seed = new Random().nextLong();
+		final Random random1 = new Random(seed);
+		final Random random2 = new Random(seed);
+		KsuidFactory factory1 = KsuidFactory.newMonotonicInstance(random1::nextLong, CLOCK);
+		KsuidFactory factory2 = KsuidFactory.newMonotonicInstance(random2::nextLong, CLOCK);
+
+		// the range is the same as many calls to create()
+		KsuidRange range = factory1.reserve(DEFAULT_LOOP_MAX);
+		assertEquals(DEFAULT_LOOP_MAX, range.size());
+		int i = 0;
+		for (Ksuid ksuid : range) {
+			Ksuid expected = factory2.create();
+			assertEquals(expected, ksuid);
+			assertEquals(expected, range.get(i++));
+		}
+		assertEquals(DEFAULT_LOOP_MAX, i);
+		assertEquals(range.get(0), range.getFirst());
+		assertEquals(range.get(DEFAULT_LOOP_MAX - 1), range.getLast());
+
+		// the factory continues after the range
+		assertEquals(factory2.create(), factory1.create());
+		assertEquals(range.getLast().increment(2), factory1.create());
+	}
+
+	@Test
+	public void testReserveOverflow() {
+
+		final long time = CLOCK.instant().getEpochSecond();
+
+		// all ones: the second KSUID of the range overflows the payload
+		KsuidFactory factory = KsuidFactory.newMonotonicInstance(() -> -1L, CLOCK);
+		KsuidRange range = factory.reserve(3);
+		assertEquals(time, range.getFirst().getTime());
+		assertEquals(time + 1, range.get(1).getTime());
+		assertEquals(time + 1, range.getLast().getTime());
+
+		Ksuid ksuid = factory.create();
+		assertEquals(time + 1, ksuid.getTime());
+		assertTrue(ksuid.compareTo(range.getLast()) > 0);
+	}
+
+	@Test
+	public void testToArray() {
+		KsuidFactory factory = KsuidFactory.newMonotonicInstance(new Random()::nextLong, CLOCK);
+		KsuidRange range = factory.reserve(DEFAULT_LOOP_MAX);
+		Ksuid[] array = range.toArray();
+		assertEquals(DEFAULT_LOOP_MAX, array.length);
+		for (int i = 0; i < array.length; i++) {
+			assertEquals(range.get(i), array[i]);
+			if (i > 0) {
+				assertTrue(array[i].compareTo(array[i - 1]) > 0);
+			}
+		}
+	}
+
+	@Test
+	public void testIterator() {
+		KsuidRange range = KsuidFactory.newMonotonicInstance().reserve(1);
+		Iterator<Ksuid> iterator = range.iterator();
+		assertTrue(iterator.hasNext());
+		assertEquals(range.getFirst(), iterator.next());
+		assertFalse(iterator.hasNext());
+		try {
+			iterator.next();
+			fail("Should throw an exception");
+		} catch (NoSuchElementException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+
+		KsuidRange range = KsuidFactory.newMonotonicInstance().reserve(10);
+		try {
+			range.get(10);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			KsuidFactory.newMonotonicInstance().reserve(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			KsuidFactory.newInstance().reserve(10);
+			fail("Should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			// success
+		}
+
+		try {
+			KsuidFactory.newSubsecondInstance().reserve(10);
+			fail("Should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			// success
+		}
+
+		try {
+			new KsuidFactory(instant -> Ksuid.fast()).reserve(10);
+			fail("Should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			// success
+		}
+	}
+}
@@ -6,10 +6,19 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Test;
@@ -18,6 +27,11 @@ public class KsuidTest {
 
 	private static final int DEFAULT_LOOP_MAX = 1_000;
 
+	// the default serialized form of "0ujtsYcgvSTl8PAuAdqWYSMnLOv", written by
+	// previous versions
+	private static final String SERIALIZED_KSUID = "rO0ABXNyAB1jb20uZ2l0aHViLmY0YjZhMy5rc3VpZC5Lc3VpZCpDQ1m68BzbAgACSQAHc2Vjb25kc1sAB3BheWxv"
+			+ "YWR0AAJbQnhwBmn373VyAAJbQqzzF/gGCFTgAgAAeHAAAAAQtaHNNLX5nRFU+2hTNFyXNQ==";
+
 	@Test
 	public void testSegmentIoExample1() {
 
@@ -318,6 +332,19 @@ public class KsuidTest {
 
 		ksuid = "#0123456789ABCDEFGHIJKLMNOP"; // Special char
 		assertFalse("KSUID with special chars should be invalid. ", Ksuid.isValid(ksuid));
+
+		ksuid = "0123456789ABCDEFGHIJKLMNOP\u00e9"; // Non-ASCII char
+		assertFalse("KSUID with non-ASCII chars should be invalid. ", Ksuid.isValid(ksuid));
+
+		ksuid = "0123456789ABCDEFGHIJKLMNOP\u0130"; // Non-ASCII char that matches '0' in the lower 7 bits
+		assertFalse("KSUID with non-ASCII chars should be invalid. ", Ksuid.isValid(ksuid));
+
+		try {
+			Ksuid.from("0123456789ABCDEFGHIJKLMNOP\u00e9");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
 	}
 
 	@Test
@@ -351,6 +378,49 @@ public class KsuidTest {
 		assertEquals(new BigInteger(payload2).add(increment), new BigInteger(ksuid2.getPayload()));
 	}
 
+	@Test
+	public void testIncrementDelta() {
+
+		final long seconds = System.currentTimeMillis() / 1000;
+		final Random random = new Random();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			byte[] payload = new byte[Ksuid.PAYLOAD_BYTES];
+			random.nextBytes(payload);
+			final long delta = random.nextLong() >>> 1;
+			Ksuid ksuid = new Ksuid(seconds, payload);
+
+			BigInteger expected = new BigInteger(1, payload).add(BigInteger.valueOf(delta));
+			long expectedTime = seconds;
+			if (expected.bitLength() > 128) {
+				expected = expected.clearBit(128);
+				expectedTime++;
+			}
+
+			Ksuid incremented = ksuid.increment(delta);
+			assertEquals(expectedTime, incremented.getTime());
+			assertEquals(expected, new BigInteger(1, incremented.getPayload()));
+		}
+
+		// payload overflow increments the time
+		byte[] payload = new byte[Ksuid.PAYLOAD_BYTES];
+		Arrays.fill(payload, (byte) 0xff);
+		Ksuid ksuid = new Ksuid(seconds, payload).increment(1);
+		assertEquals(seconds + 1, ksuid.getTime());
+		assertEquals(BigInteger.ZERO, new BigInteger(1, ksuid.getPayload()));
+
+		// zero returns an equal KSUID
+		Ksuid other = new Ksuid(seconds, payload);
+		assertEquals(other, other.increment(0));
+
+		try {
+			other.increment(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
 	@Test
 	public void testEquals() {
 
@@ -456,6 +526,239 @@ public class KsuidTest {
 		}
 	}
 
+	@Test
+	public void testCompareBytes() {
+
+		Random random = new Random();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX * 10; i++) {
+
+			byte[] bytes1 = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes1);
+
+			// share a random prefix, so that every word is compared
+			byte[] bytes2 = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes2);
+			System.arraycopy(bytes1, 0, bytes2, 0, random.nextInt(Ksuid.KSUID_BYTES + 1));
+
+			Ksuid ksuid1 = Ksuid.from(bytes1);
+			Ksuid ksuid2 = Ksuid.from(bytes2);
+			final int expected = ksuid1.compareTo(ksuid2);
+
+			assertEquals(expected, Ksuid.compare(bytes1, bytes2));
+			assertEquals(-expected, Ksuid.compare(bytes2, bytes1));
+			assertEquals(0, Ksuid.compare(bytes1, bytes1));
+
+			// arrays with offsets
+			final int offset1 = random.nextInt(8);
+			final int offset2 = random.nextInt(8);
+			byte[] array1 = new byte[offset1 + Ksuid.KSUID_BYTES + random.nextInt(8)];
+			byte[] array2 = new byte[offset2 + Ksuid.KSUID_BYTES + random.nextInt(8)];
+			random.nextBytes(array1);
+			random.nextBytes(array2);
+			System.arraycopy(bytes1, 0, array1, offset1, Ksuid.KSUID_BYTES);
+			System.arraycopy(bytes2, 0, array2, offset2, Ksuid.KSUID_BYTES);
+			assertEquals(expected, Ksuid.compare(array1, offset1, array2, offset2));
+
+			// buffers with any byte order
+			ByteBuffer buffer1 = ByteBuffer.wrap(array1);
+			ByteBuffer buffer2 = ByteBuffer.allocateDirect(array2.length).put(array2);
+			buffer1.position(offset1);
+			buffer2.position(offset2);
+			buffer2.order(random.nextBoolean() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+			assertEquals(expected, Ksuid.compare(buffer1, buffer2));
+			assertEquals(offset1, buffer1.position());
+			assertEquals(offset2, buffer2.position());
+		}
+
+		byte[] min = new byte[Ksuid.KSUID_BYTES];
+		byte[] max = new byte[Ksuid.KSUID_BYTES];
+		Arrays.fill(max, (byte) 0xff);
+		assertEquals(-1, Ksuid.compare(min, max));
+		assertEquals(1, Ksuid.compare(max, min));
+
+		try {
+			Ksuid.compare(min, 1, max, 0);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			Ksuid.compare(ByteBuffer.wrap(min, 1, 19), ByteBuffer.wrap(max));
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testCompareStrings() {
+
+		Random random = new Random();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX * 10; i++) {
+
+			byte[] bytes1 = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes1);
+
+			// share a random prefix, so that every char is compared
+			byte[] bytes2 = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes2);
+			System.arraycopy(bytes1, 0, bytes2, 0, random.nextInt(Ksuid.KSUID_BYTES + 1));
+
+			Ksuid ksuid1 = Ksuid.from(bytes1);
+			Ksuid ksuid2 = Ksuid.from(bytes2);
+			final int expected = ksuid1.compareTo(ksuid2);
+
+			String string1 = ksuid1.toString();
+			String string2 = ksuid2.toString();
+			assertEquals(expected, Ksuid.compare(string1, string2));
+			assertEquals(-expected, Ksuid.compare(string2, string1));
+			assertEquals(expected, Ksuid.compare(new StringBuilder(string1), string2));
+			assertEquals(0, Ksuid.compare(string1, new StringBuilder(string1)));
+		}
+
+		// the full range
+		Ksuid min = new Ksuid(new byte[Ksuid.KSUID_BYTES]);
+		byte[] maxBytes = new byte[Ksuid.KSUID_BYTES];
+		Arrays.fill(maxBytes, (byte) 0xff);
+		Ksuid max = new Ksuid(maxBytes);
+		Ksuid[] ksuids = { min, min.increment(), max, new Ksuid(maxBytes).increment(0),
+				Ksuid.from(maxBytes).increment(0), Ksuid.fast() };
+		for (Ksuid a : ksuids) {
+			for (Ksuid b : ksuids) {
+				assertEquals(a.compareTo(b), Ksuid.compare(a.toString(), b.toString()));
+				assertEquals(a.compareTo(b), Ksuid.compare(new StringBuilder(a.toString()), b.toString()));
+			}
+		}
+		assertEquals(-1, Ksuid.compare("000000000000000000000000000", "aWgEPTl1tmebfsQzFP4bxwgy80V"));
+
+		String[] invalid = { null, "", "000000000000000000000000000 ", "00000000000000000000000000-",
+				"00000000000000000000000000\u00e1" };
+		for (String string : invalid) {
+			try {
+				Ksuid.compare(string, "000000000000000000000000000");
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			try {
+				Ksuid.compare(new StringBuilder("000000000000000000000000000"), string);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+
+	@Test
+	public void testGetTimeFromString() {
+
+		Random random = new Random();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX * 10; i++) {
+			byte[] bytes = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes);
+			Ksuid ksuid = Ksuid.from(bytes);
+			String string = ksuid.toString();
+			assertEquals(ksuid.getTime(), Ksuid.getTime(string));
+			assertEquals(ksuid.getInstant(), Ksuid.getInstant(string));
+		}
+
+		// the last and the first KSUIDs of a second:
+		// the fractional part is close to 1 after the first digits
+		byte[] ones = new byte[Ksuid.PAYLOAD_BYTES];
+		Arrays.fill(ones, (byte) 0xff);
+		byte[] zeros = new byte[Ksuid.PAYLOAD_BYTES];
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			long time = Ksuid.EPOCH_OFFSET + (random.nextLong() & 0xfffffffeL);
+			Ksuid last = new Ksuid(time, ones);
+			Ksuid first = new Ksuid(time + 1, zeros);
+			assertEquals(time, Ksuid.getTime(last.toString()));
+			assertEquals(time + 1, Ksuid.getTime(first.toString()));
+			for (int j = 1; j < 100; j++) {
+				byte[] payload = ByteBuffer.allocate(Ksuid.PAYLOAD_BYTES).putLong(-1L).putLong(-1L - j).array();
+				assertEquals(time, Ksuid.getTime(new Ksuid(time, payload).toString()));
+			}
+		}
+
+		// min and max
+		assertEquals(Ksuid.EPOCH_OFFSET, Ksuid.getTime("000000000000000000000000000"));
+		assertEquals(Ksuid.EPOCH_OFFSET + 0xffffffffL, Ksuid.getTime("aWgEPTl1tmebfsQzFP4bxwgy80V"));
+
+		// overflow
+		String[] overflows = { "aWgEPTl1tmebfsQzFP4bxwgy80W", "aWgEPTl1uzzzzzzzzzzzzzzzzzz", "zzzzzzzzzzzzzzzzzzzzzzzzzzz",
+				"aWgEPTl2000000000000000000" + "0" };
+		for (String overflow : overflows) {
+			try {
+				Ksuid.getTime(overflow);
+				fail("Should throw an exception: " + overflow);
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+
+		try {
+			Ksuid.getTime("invalid");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+
+		List<Ksuid> list = new ArrayList<>();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list.add(KsuidCreator.getKsuid());
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ObjectOutputStream stream = new ObjectOutputStream(output)) {
+			stream.writeObject(list);
+		}
+		byte[] bytes = output.toByteArray();
+
+		// 20 bytes and a few bytes of framing per KSUID
+		assertTrue(bytes.length < DEFAULT_LOOP_MAX * (Ksuid.KSUID_BYTES + 10));
+
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			@SuppressWarnings("unchecked")
+			List<Ksuid> other = (List<Ksuid>) stream.readObject();
+			assertEquals(list, other);
+			assertEquals(Ksuid.class, other.get(0).getClass());
+		}
+	}
+
+	@Test
+	public void testSerializationOfPreviousVersions() throws IOException, ClassNotFoundException {
+
+		byte[] bytes = Base64.getDecoder().decode(SERIALIZED_KSUID);
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			Ksuid ksuid = (Ksuid) stream.readObject();
+			assertEquals(Ksuid.from("0ujtsYcgvSTl8PAuAdqWYSMnLOv"), ksuid);
+		}
+	}
+
+	@Test
+	public void testSerializationOfPreviousVersionsIsNotAliased() throws IOException, ClassNotFoundException {
+
+		// the KSUID followed by a back reference to its payload array (handle 4)
+		byte[] ksuidBytes = Base64.getDecoder().decode(SERIALIZED_KSUID);
+		byte[] reference = { 0x71, 0x00, 0x7e, 0x00, 0x04 };
+		byte[] bytes = Arrays.copyOf(ksuidBytes, ksuidBytes.length + reference.length);
+		System.arraycopy(reference, 0, bytes, ksuidBytes.length, reference.length);
+
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			Ksuid ksuid = (Ksuid) stream.readObject();
+			byte[] payload = (byte[]) stream.readObject();
+			Arrays.fill(payload, (byte) 0);
+			assertEquals(Ksuid.from("0ujtsYcgvSTl8PAuAdqWYSMnLOv"), ksuid);
+		}
+	}
+
 	@Test
 	public void testMinAndMaxKsuidString() {
 
@@ -0,0 +1,126 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KsuidTimeBucketsTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	private static final long MIN_TIME = Ksuid.EPOCH_OFFSET;
+	private static final long MAX_TIME = Ksuid.EPOCH_OFFSET + 0xffffffffL;
+
+	@Test
+	public void testGetBucket() {
+
+		Random random = new Random();
+		KsuidTimeBuckets[] instances = { KsuidTimeBuckets.newHourlyInstance(), KsuidTimeBuckets.newDailyInstance(),
+				KsuidTimeBuckets.newInstance(Duration.ofSeconds(1)),
+				KsuidTimeBuckets.newInstance(Duration.ofSeconds(7)) };
+
+		for (KsuidTimeBuckets buckets : instances) {
+			final long width = buckets.getWidth().getSeconds();
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				long time = MIN_TIME + (random.nextLong() & 0xffffffffL);
+				Ksuid ksuid = KsuidCreator.getKsuid(Instant.ofEpochSecond(time));
+
+				final long bucket = buckets.getBucket(ksuid);
+				assertEquals(time / width, bucket);
+				assertEquals(bucket, buckets.getBucket(ksuid.toBytes()));
+				assertEquals(bucket, buckets.getBucket(ksuid.toString()));
+				assertEquals(bucket, buckets.getBucket(ksuid.getInstant()));
+
+				byte[] bytes = new byte[Ksuid.KSUID_BYTES + 3];
+				System.arraycopy(ksuid.toBytes(), 0, bytes, 3, Ksuid.KSUID_BYTES);
+				assertEquals(bucket, buckets.getBucket(bytes, 3));
+
+				// the KSUID is within the bounds of its bucket
+				assertTrue(buckets.getMin(bucket).compareTo(ksuid) <= 0);
+				assertTrue(buckets.getMax(bucket).compareTo(ksuid) >= 0);
+				assertTrue(!buckets.getStart(bucket).isAfter(ksuid.getInstant()));
+				assertTrue(buckets.getEnd(bucket).isAfter(ksuid.getInstant()));
+			}
+		}
+	}
+
+	@Test
+	public void testGetMinAndMax() {
+
+		KsuidTimeBuckets buckets = KsuidTimeBuckets.newDailyInstance();
+		Instant instant = Instant.parse("2022-01-01T00:00:00Z");
+		long bucket = buckets.getBucket(instant);
+
+		assertEquals(instant, buckets.getStart(bucket));
+		assertEquals(Instant.parse("2022-01-02T00:00:00Z"), buckets.getEnd(bucket));
+
+		Ksuid min = buckets.getMin(bucket);
+		Ksuid max = buckets.getMax(bucket);
+		assertEquals(instant, min.getInstant());
+		assertEquals(Instant.parse("2022-01-01T23:59:59Z"), max.getInstant());
+		assertEquals(buckets.getMin(bucket + 1), max.increment());
+
+		// the first and the last buckets are clamped
+		long first = buckets.getBucket(Instant.ofEpochSecond(MIN_TIME));
+		long last = buckets.getBucket(Instant.ofEpochSecond(MAX_TIME));
+		assertEquals("000000000000000000000000000", buckets.getMin(first).toString());
+		assertEquals("aWgEPTl1tmebfsQzFP4bxwgy80V", buckets.getMax(last).toString());
+
+		try {
+			buckets.getMin(first - 1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			buckets.getMax(last + 1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+
+		Duration[] widths = { null, Duration.ZERO, Duration.ofSeconds(-1), Duration.ofMillis(1500) };
+		for (Duration width : widths) {
+			try {
+				KsuidTimeBuckets.newInstance(width);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+
+		KsuidTimeBuckets buckets = KsuidTimeBuckets.newHourlyInstance();
+
+		try {
+			buckets.getBucket(new byte[Ksuid.KSUID_BYTES + 1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			buckets.getBucket(new byte[Ksuid.KSUID_BYTES], 1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			buckets.getBucket("invalid");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
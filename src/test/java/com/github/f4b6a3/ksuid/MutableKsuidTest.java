@@ -0,0 +1,137 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MutableKsuidTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	@Test
+	public void testSet() {
+
+		Random random = new Random();
+		MutableKsuid mutable = new MutableKsuid();
+		assertEquals("000000000000000000000000000", mutable.toString());
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			byte[] bytes = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes);
+			Ksuid ksuid = Ksuid.from(bytes);
+
+			mutable.set(ksuid);
+			checkEquals(ksuid, mutable);
+
+			mutable.set(new MutableKsuid());
+			mutable.set(bytes);
+			checkEquals(ksuid, mutable);
+
+			mutable.set(new MutableKsuid());
+			mutable.set(ksuid.toString());
+			checkEquals(ksuid, mutable);
+
+			mutable.set(new MutableKsuid());
+			mutable.set(new StringBuilder(ksuid.toString()));
+			checkEquals(ksuid, mutable);
+
+			final int offset = random.nextInt(8);
+			byte[] array = new byte[offset + Ksuid.KSUID_BYTES];
+			System.arraycopy(bytes, 0, array, offset, Ksuid.KSUID_BYTES);
+			mutable.set(new MutableKsuid());
+			mutable.set(array, offset);
+			checkEquals(ksuid, mutable);
+
+			byte[] output = new byte[offset + Ksuid.KSUID_BYTES];
+			mutable.toBytes(output, offset);
+			assertArrayEquals(array, output);
+
+			MutableKsuid other = new MutableKsuid(ksuid);
+			assertEquals(mutable, other);
+			assertEquals(mutable.hashCode(), other.hashCode());
+		}
+	}
+
+	@Test
+	public void testCompareTo() {
+
+		Random random = new Random();
+		MutableKsuid mutable1 = new MutableKsuid();
+		MutableKsuid mutable2 = new MutableKsuid();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			byte[] bytes1 = new byte[Ksuid.KSUID_BYTES];
+			byte[] bytes2 = new byte[Ksuid.KSUID_BYTES];
+			random.nextBytes(bytes1);
+			random.nextBytes(bytes2);
+			System.arraycopy(bytes1, 0, bytes2, 0, random.nextInt(Ksuid.KSUID_BYTES + 1));
+
+			Ksuid ksuid1 = Ksuid.from(bytes1);
+			Ksuid ksuid2 = Ksuid.from(bytes2);
+			mutable1.set(bytes1);
+			mutable2.set(bytes2);
+
+			final int expected = ksuid1.compareTo(ksuid2);
+			assertEquals(expected, mutable1.compareTo(mutable2));
+			assertEquals(expected, mutable1.compareTo(ksuid2));
+			assertEquals(-expected, mutable2.compareTo(ksuid1));
+			assertEquals(0, mutable1.compareTo(ksuid1));
+			assertEquals(expected == 0, mutable1.equals(mutable2));
+		}
+
+		assertNotEquals(new MutableKsuid(), null);
+		assertNotEquals(new MutableKsuid(), Ksuid.from(new byte[Ksuid.KSUID_BYTES]));
+	}
+
+	@Test
+	public void testInvalid() {
+
+		MutableKsuid mutable = new MutableKsuid();
+
+		try {
+			mutable.set(new byte[Ksuid.KSUID_BYTES + 1]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			mutable.set(new byte[Ksuid.KSUID_BYTES], 1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			mutable.set("invalid");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			mutable.set("zzzzzzzzzzzzzzzzzzzzzzzzzzz");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	private void checkEquals(Ksuid ksuid, MutableKsuid mutable) {
+		assertEquals(ksuid, mutable.toKsuid());
+		assertEquals(ksuid.toString(), mutable.toString());
+		assertEquals(ksuid.getTime(), mutable.getTime());
+		assertEquals(ksuid.getInstant(), mutable.getInstant());
+		assertEquals(ksuid.hashCode(), mutable.hashCode());
+		assertArrayEquals(ksuid.toBytes(), mutable.toBytes());
+		assertArrayEquals(ksuid.getPayload(), mutable.getPayload());
+		assertEquals(0, mutable.compareTo(ksuid));
+	}
+}
@@ -8,6 +8,19 @@ import org.junit.runners.Suite;
 	KsuidFactoryTest.class,
 	KsuidCreatorTest.class,
 	KsuidTest.class,
+	KsuidCodecTest.class,
+	ByteUtilTest.class,
+	CoarseClockTest.class,
+	BufferedKsuidFactoryTest.class,
+	KsuidRangeTest.class,
+	KsuidPartitionerTest.class,
+	KsuidTimeBucketsTest.class,
+	MutableKsuidTest.class,
+	KsuidCacheTest.class,
+	KsuidDeduplicatorTest.class,
+	KsuidBloomFilterTest.class,
+	KsuidIndexTest.class,
+	KsuidCountersTest.class,
 })
 
 /**
@@ -0,0 +1,225 @@
+package com.github.f4b6a3.ksuid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class KsuidEventsTest {
+
+	private static final String SLOW_RANDOM = "com.github.f4b6a3.ksuid.SlowRandom";
+	private static final String LOCK_CONTENTION = "com.github.f4b6a3.ksuid.LockContention";
+	private static final String CLOCK_REGRESSION = "com.github.f4b6a3.ksuid.ClockRegression";
+	private static final String PAYLOAD_OVERFLOW = "com.github.f4b6a3.ksuid.PayloadOverflow";
+
+	@Test
+	public void testSlowRandom() throws IOException {
+
+		try (Recording recording = new Recording()) {
+			recording.enable(SLOW_RANDOM);
+			recording.start();
+
+			// fast reads are below the threshold
+			KsuidFactory.newInstance(new Random()).create();
+
+			KsuidFactory factory = KsuidFactory.newInstance(new Random() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public long nextLong() {
+					sleep(20);
+					return super.nextLong();
+				}
+			});
+			factory.create();
+
+			recording.stop();
+			List<RecordedEvent> events = events(recording, SLOW_RANDOM);
+			assertEquals(1, events.size());
+			assertEquals(Ksuid.PAYLOAD_BYTES, events.get(0).getInt("bytes"));
+			assertTrue(events.get(0).getDuration().compareTo(Duration.ofMillis(40)) >= 0);
+		}
+	}
+
+	@Test
+	public void testClockRegression() throws IOException {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+		long times[] = { time, time + 1, time - 1, time - 20 };
+
+		Clock clock = new Clock() {
+			private int i;
+
+			@Override
+			public Instant instant() {
+				return Instant.ofEpochSecond(times[i++ % times.length]);
+			}
+
+			@Override
+			public ZoneId getZone() {
+				return null;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return null;
+			}
+		};
+
+		try (Recording recording = new Recording()) {
+			recording.enable(CLOCK_REGRESSION);
+			recording.start();
+
+			KsuidFactory factory = KsuidFactory.newMonotonicInstance(() -> new Random().nextLong(), clock);
+			for (int i = 0; i < times.length; i++) {
+				factory.create();
+			}
+
+			recording.stop();
+			List<RecordedEvent> events = events(recording, CLOCK_REGRESSION);
+			assertEquals(2, events.size());
+
+			assertEquals(Instant.ofEpochSecond(time + 1), events.get(0).getInstant("previousTime"));
+			assertEquals(Instant.ofEpochSecond(time - 1), events.get(0).getInstant("currentTime"));
+			assertEquals(Duration.ofSeconds(2), events.get(0).getDuration("regression"));
+			assertTrue(events.get(0).getBoolean("tolerated"));
+
+			assertEquals(Instant.ofEpochSecond(time + 1), events.get(1).getInstant("previousTime"));
+			assertEquals(Instant.ofEpochSecond(time - 20), events.get(1).getInstant("currentTime"));
+			assertFalse(events.get(1).getBoolean("tolerated"));
+		}
+	}
+
+	@Test
+	public void testPayloadOverflow() throws IOException {
+
+		try (Recording recording = new Recording()) {
+			recording.enable(PAYLOAD_OVERFLOW);
+			recording.start();
+
+			long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+			Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+			// the payloads are 0xffffffffffffffff_fffffffffffffffe
+			long[] words = { -1L, -2L };
+			int[] i = { 0 };
+			KsuidFactory factory = KsuidFactory.newMonotonicInstance(() -> words[i[0]++ % 2], clock);
+			factory.create();
+
+			// the block crosses the overflow
+			KsuidRange range = factory.reserve(3);
+			assertEquals(time, range.getFirst().getTime());
+			assertEquals(time + 1, range.getLast().getTime());
+
+			// iterating the block doesn't report it again
+			for (Ksuid ksuid : range) {
+				assertTrue(ksuid.getTime() >= time);
+			}
+			Ksuid.wrap(time, ByteBuffer.allocate(Ksuid.PAYLOAD_BYTES).putLong(-1L).putLong(-1L).array()).increment();
+
+			recording.stop();
+			List<RecordedEvent> events = events(recording, PAYLOAD_OVERFLOW);
+			assertEquals(1, events.size());
+			assertEquals(Instant.ofEpochSecond(time), events.get(0).getInstant("time"));
+		}
+	}
+
+	@Test
+	public void testPayloadOverflowIsNotClockRegression() throws IOException {
+
+		try (Recording recording = new Recording()) {
+			recording.enable(CLOCK_REGRESSION);
+			recording.start();
+
+			long time = Instant.parse("2021-12-31T23:59:59.000Z").getEpochSecond();
+			Clock clock = Clock.fixed(Instant.ofEpochSecond(time), ZoneId.of("UTC"));
+
+			// the payloads are 0xffffffffffffffff_fffffffffffffffe
+			long[] words = { -1L, -2L };
+			int[] i = { 0 };
+			KsuidFactory factory = KsuidFactory.newMonotonicInstance(() -> words[i[0]++ % 2], clock);
+			factory.create();
+			factory.create(); // the last KSUID of the second
+			Ksuid ksuid = factory.create(); // the time was incremented
+			assertEquals(time + 1, ksuid.getTime());
+			factory.create(); // the clock is still in the same second
+
+			recording.stop();
+			assertEquals(0, events(recording, CLOCK_REGRESSION).size());
+		}
+	}
+
+	@Test
+	public void testLockContention()throws IOException, InterruptedException {
+
+		CountDownLatch entered = new CountDownLatch(1);
+
+		KsuidFactory factory = KsuidFactory.newMonotonicInstance(new Random() {
+			private static final long serialVersionUID = 1L;
+			private int calls;
+
+			@Override
+			public long nextLong() {
+				if (++calls == 3) { // the first call after the constructor
+					entered.countDown();
+					sleep(50);
+				}
+				return super.nextLong();
+			}
+		});
+
+		try (Recording recording = new Recording()) {
+			recording.enable(LOCK_CONTENTION);
+			recording.start();
+
+			Thread holder = new Thread(factory::create);
+			holder.start();
+			entered.await(); // the holder is in the lock
+			factory.create();
+			holder.join();
+
+			recording.stop();
+			List<RecordedEvent> events = events(recording, LOCK_CONTENTION);
+			assertEquals(1, events.size());
+			assertEquals(Thread.currentThread().getName(), events.get(0).getThread().getJavaName());
+		}
+	}
+
+	private static List<RecordedEvent> events(Recording recording, String name) throws IOException {
+		Path file = Files.createTempFile("ksuid", ".jfr");
+		try {
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream() //
+					.filter(e -> e.getEventType().getName().equals(name)) //
+					.collect(Collectors.toList());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}